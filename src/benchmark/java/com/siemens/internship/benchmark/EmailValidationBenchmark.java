@@ -0,0 +1,46 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.validation.EmailValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+// The single pass EmailValidator against the regular expression it replaced, on the same inputs
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailValidationBenchmark {
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(
+            "^(?=.{1,64}@)[A-Za-z0-9_-]+(\\.[A-Za-z0-9_-]+)*@[^-][A-Za-z0-9-]+(\\.[A-Za-z0-9-]+)*(\\.[A-Za-z]{2,})$"
+    );
+
+    // valid: a typical address, invalid: fails at the top level domain,
+    // hostile: a long domain without a valid ending, the nested groups of the pattern retry every split of it
+    @Param({"valid", "invalid", "hostile"})
+    private String input;
+
+    private String email;
+
+    @Setup
+    public void setup() {
+        email = switch (input) {
+            case "valid" -> "first.last@sub.domain.com";
+            case "invalid" -> "first.last@sub.domain.c0m";
+            default -> "a@b" + "c-".repeat(45) + "!";
+        };
+    }
+
+    @Benchmark
+    public boolean regex() {
+        return EMAIL_PATTERN.matcher(email).matches();
+    }
+
+    @Benchmark
+    public boolean validator() {
+        return EmailValidator.isValid(email);
+    }
+}
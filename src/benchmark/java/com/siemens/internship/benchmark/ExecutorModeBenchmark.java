@@ -0,0 +1,124 @@
+package com.siemens.internship.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.siemens.internship.InternshipApplication;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// Compares the platform-thread pools with the virtual-thread mode on the /process workload:
+// a burst of processing jobs is started at once, then every accepted job is polled until it finishes
+// Arguments: [items] [concurrent jobs] [parallelism of the enrich stage]
+public class ExecutorModeBenchmark {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        // A devtools restart would run this method again without its arguments
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        int items = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int jobs = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int parallelism = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        List<Result> results = new ArrayList<>();
+
+        for (String mode : List.of("platform", "virtual")) {
+            results.add(run(mode, items, jobs, parallelism));
+        }
+
+        System.out.printf("%n%d items, a burst of %d jobs, parallelism %d%n", items, jobs, parallelism);
+        System.out.printf("%-10s %10s %10s %12s %12s%n", "mode", "accepted", "rejected", "elapsed ms", "items/s");
+
+        for (Result result : results) {
+            System.out.printf("%-10s %10d %10d %12d %12.2f%n",
+                    result.mode(), result.acceptedJobs(), result.rejectedJobs(), result.elapsedMillis(), result.itemsPerSecond());
+        }
+    }
+
+    private static Result run(String mode, int items, int jobs, int parallelism) throws Exception {
+        // Passed as command line arguments, so they win over the development profile
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(InternshipApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark-" + mode,
+                        "--internship.async.mode=" + mode,
+                        "--internship.processing.pipeline.stages.enrich.parallelism=" + parallelism,
+                        "--logging.level.com.siemens.internship=WARN"
+                );
+
+        try {
+            ItemRepository itemRepository = context.getBean(ItemRepository.class);
+            itemRepository.saveAll(IntStream.range(0, items)
+                    .mapToObj(i -> Item.builder().name("Item " + i).description("Benchmark item").status("NEW").email("benchmark@example.com").build())
+                    .toList());
+
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/v1/items";
+            HttpClient httpClient = HttpClient.newHttpClient();
+
+            long startTime = System.nanoTime();
+
+            // Start the whole burst at once
+            List<CompletableFuture<HttpResponse<String>>> startRequests = IntStream.range(0, jobs)
+                    .mapToObj(i -> httpClient.sendAsync(
+                            HttpRequest.newBuilder(URI.create(baseUrl + "/process")).GET().build(),
+                            HttpResponse.BodyHandlers.ofString()))
+                    .toList();
+
+            List<Long> acceptedJobIds = new ArrayList<>();
+
+            for (CompletableFuture<HttpResponse<String>> startRequest : startRequests) {
+                HttpResponse<String> response = startRequest.join();
+
+                if (response.statusCode() == 202) {
+                    acceptedJobIds.add(OBJECT_MAPPER.readTree(response.body()).path("body").path("id").asLong());
+                }
+            }
+
+            long handledItems = 0;
+
+            for (Long jobId : acceptedJobIds) {
+                handledItems += awaitJob(httpClient, baseUrl, jobId);
+            }
+
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+
+            return new Result(mode, acceptedJobIds.size(), jobs - acceptedJobIds.size(), elapsedMillis,
+                    handledItems * 1000.0 / Math.max(elapsedMillis, 1));
+        }
+
+        finally {
+            context.close();
+        }
+    }
+
+    private static long awaitJob(HttpClient httpClient, String baseUrl, Long jobId) throws Exception {
+        while (true) {
+            HttpResponse<String> response = httpClient.send(
+                    HttpRequest.newBuilder(URI.create(baseUrl + "/process/jobs/id=" + jobId)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+
+            JsonNode job = OBJECT_MAPPER.readTree(response.body()).path("body");
+
+            if (!"RUNNING".equals(job.path("status").asText())) {
+                return job.path("processedItems").asLong() + job.path("failedItems").asLong();
+            }
+
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+    }
+
+    private record Result(String mode, int acceptedJobs, int rejectedJobs, long elapsedMillis, double itemsPerSecond) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.siemens.internship.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.siemens.internship.response.HttpResponse;
+import com.siemens.internship.response.ItemResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+// Serializing the HttpResponse envelope around a page of items, the way GET /api/v1/items answers
+// (pages are serialized through PagedModel, like the VIA_DTO mode of the application does)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HttpResponseSerializationBenchmark {
+    @Param({"10", "100", "1000"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private HttpResponse httpResponse;
+
+    @Setup
+    public void setup() {
+        // Configured like the ObjectMapper that Spring Boot builds for the application
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<ItemResponse> items = LongStream.rangeClosed(1, pageSize)
+                .mapToObj(id -> new ItemResponse(id, "Item " + id, "Benchmark item", "NEW", "benchmark@example.com", 0L))
+                .toList();
+
+        httpResponse = HttpResponse
+                .builder()
+                .timestamp(LocalDateTime.now().toString())
+                .responseMessage("The items have been found successfully")
+                .responseStatus(HttpStatus.OK)
+                .responseStatusCode(HttpStatus.OK.value())
+                .body(new PagedModel<>(new PageImpl<>(items, PageRequest.of(0, pageSize), 100_000)))
+                .build();
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(httpResponse);
+    }
+}
@@ -0,0 +1,339 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.InternshipApplication;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.request.ItemCursor;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// Drives mixed workloads against /api/v1/items of an application started on a random port (with the in-memory H2
+// database) and reports the throughput and the latency percentiles per endpoint, to compare before and after a change
+// The load is an open model: every request is sent at its arrival time (Poisson arrivals at the rate of its stream)
+// whether or not the earlier ones have been answered, and its latency counts from that arrival time, so a server
+// that falls behind shows up as latency instead of quietly slowing the load down
+// The workloads run one after the other against the same application, so the later ones see the items of the earlier ones
+// Arguments: [measured seconds per workload] [rate factor] [workloads, comma separated, all of them by default]
+public class ItemApiLoadBenchmark {
+    private static final int SEED_ITEMS = 1000;
+    private static final int BULK_SIZE = 50;
+    private static final int WARMUP_SECONDS = 5;
+
+    // Beyond this many unanswered requests the generator can't keep up, it drops (and counts) the arrivals instead
+    private static final int MAXIMUM_IN_FLIGHT = 2000;
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    // The arrivals are the same on every run
+    private static final long SEED = 42;
+
+    public static void main(String[] args) throws Exception {
+        // A devtools restart would run this method again without its arguments
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        double rateFactor = args.length > 1 ? Double.parseDouble(args[1]) : 1.0;
+        Set<String> selectedWorkloads = args.length > 2 ? Set.of(args[2].split(",")) : null;
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(InternshipApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark-load;DB_CLOSE_ON_EXIT=FALSE",
+                        "--logging.level.root=WARN",
+                        // Every rejected request is logged, they're counted in the report instead
+                        "--logging.level.com.siemens.internship.admission=ERROR"
+                );
+
+        Map<Workload, Result> results = new LinkedHashMap<>();
+
+        try (HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build()) {
+            List<Item> seededItems = context.getBean(ItemRepository.class).saveAll(IntStream.range(0, SEED_ITEMS)
+                    .mapToObj(i -> Item.builder().name("Seeded item " + i).description("Benchmark item").status("NEW").email("benchmark@example.com").build())
+                    .toList());
+
+            Target target = new Target("http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/v1/items", seededItems);
+
+            for (Workload workload : workloads()) {
+                if (selectedWorkloads != null && !selectedWorkloads.contains(workload.name())) {
+                    continue;
+                }
+
+                // The warmup runs the same load, for the JIT, the connection pool and the caches, its latencies aren't kept
+                run(httpClient, target, workload, rateFactor, TimeUnit.SECONDS.toNanos(WARMUP_SECONDS));
+                results.put(workload, run(httpClient, target, workload, rateFactor, TimeUnit.SECONDS.toNanos(seconds)));
+            }
+        }
+
+        finally {
+            context.close();
+        }
+
+        results.forEach((workload, result) -> report(workload, rateFactor, result));
+    }
+
+    private static List<Workload> workloads() {
+        return List.of(
+                new Workload("read-heavy", List.of(
+                        new Arrivals(400, 1, List.of(
+                                new Operation("GET /id={id}", 75, Target::findById),
+                                new Operation("GET ?page&size", 15, Target::findPage),
+                                new Operation("GET ?cursor", 5, Target::findSlice),
+                                new Operation("PUT /id={id}", 5, Target::update)
+                        ))
+                )),
+                new Workload("write-heavy", List.of(
+                        new Arrivals(150, 1, List.of(
+                                new Operation("POST", 50, Target::create),
+                                new Operation("PUT /id={id}", 30, Target::update),
+                                new Operation("GET /id={id}", 20, Target::findById)
+                        ))
+                )),
+                new Workload("bulk", List.of(
+                        new Arrivals(4, 1, List.of(
+                                new Operation("POST /bulk", 100, Target::createBulk)
+                        )),
+                        new Arrivals(50, 1, List.of(
+                                new Operation("GET ?page&size", 100, Target::findPage)
+                        ))
+                )),
+                // Last, the jobs it starts keep processing the items in the background
+                new Workload("process-bursts", List.of(
+                        // A burst of 10 jobs every 5 seconds on average
+                        new Arrivals(2, 10, List.of(
+                                new Operation("GET /process", 100, Target::process)
+                        )),
+                        new Arrivals(100, 1, List.of(
+                                new Operation("GET /id={id}", 100, Target::findById)
+                        ))
+                ))
+        );
+    }
+
+    private static Result run(HttpClient httpClient, Target target, Workload workload, double rateFactor, long durationNanos) throws InterruptedException {
+        Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+        for (Arrivals stream : workload.streams()) {
+            stream.operations().forEach(operation -> endpoints.putIfAbsent(operation.endpoint(), new Endpoint()));
+        }
+
+        Semaphore inFlight = new Semaphore(MAXIMUM_IN_FLIGHT);
+        long startTime = System.nanoTime();
+        List<Thread> generators = new ArrayList<>();
+
+        for (int i = 0; i < workload.streams().size(); i++) {
+            Arrivals stream = workload.streams().get(i);
+            Random random = new Random(SEED + i);
+
+            generators.add(Thread.ofPlatform().name("LoadGenerator-" + workload.name() + "-" + i).start(() ->
+                    generate(httpClient, target, stream, rateFactor, random, endpoints, inFlight, startTime, durationNanos)));
+        }
+
+        for (Thread generator : generators) {
+            generator.join();
+        }
+
+        // The requests still unanswered at the end count too, it's their latency that matters most
+        inFlight.acquire(MAXIMUM_IN_FLIGHT);
+        inFlight.release(MAXIMUM_IN_FLIGHT);
+
+        return new Result(endpoints, System.nanoTime() - startTime);
+    }
+
+    private static void generate(HttpClient httpClient, Target target, Arrivals stream, double rateFactor, Random random,
+                                 Map<String, Endpoint> endpoints, Semaphore inFlight, long startTime, long durationNanos) {
+        double meanGapNanos = stream.burstSize() * 1e9 / (stream.ratePerSecond() * rateFactor);
+        long arrivalTime = startTime;
+
+        while (arrivalTime - startTime < durationNanos) {
+            long wait;
+
+            while ((wait = arrivalTime - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            for (int i = 0; i < stream.burstSize(); i++) {
+                Operation operation = stream.pick(random);
+                Endpoint endpoint = endpoints.get(operation.endpoint());
+
+                if (!inFlight.tryAcquire()) {
+                    endpoint.dropped().increment();
+                    continue;
+                }
+
+                long intendedTime = arrivalTime;
+
+                httpClient.sendAsync(operation.request().apply(target), HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, failure) -> {
+                            endpoint.record(System.nanoTime() - intendedTime, response == null ? 0 : response.statusCode());
+                            inFlight.release();
+                        });
+            }
+
+            // Exponential gaps between the arrivals
+            arrivalTime += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos);
+        }
+    }
+
+    private static void report(Workload workload, double rateFactor, Result result) {
+        double elapsedSeconds = result.elapsedNanos() / 1e9;
+        String offered = workload.streams().stream()
+                .map(stream -> String.format(stream.ratePerSecond() * rateFactor < 10 ? "%.1f/s" : "%.0f/s", stream.ratePerSecond() * rateFactor)
+                        + (stream.burstSize() > 1 ? " in bursts of " + stream.burstSize() : ""))
+                .collect(Collectors.joining(" + "));
+
+        System.out.printf("%n%s, %s offered, %.1f s%n", workload.name(), offered, elapsedSeconds);
+        System.out.printf("%-16s %9s %8s %9s %8s %10s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "rejected", "dropped", "answers/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        result.endpoints().forEach((name, endpoint) -> {
+            Histogram latencies = endpoint.latencies();
+
+            System.out.printf("%-16s %9d %8d %9d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    name,
+                    latencies.getTotalCount(),
+                    endpoint.errors().sum(),
+                    endpoint.rejected().sum(),
+                    endpoint.dropped().sum(),
+                    latencies.getTotalCount() / elapsedSeconds,
+                    latencies.getValueAtPercentile(50) / 1000.0,
+                    latencies.getValueAtPercentile(99) / 1000.0,
+                    latencies.getValueAtPercentile(99.9) / 1000.0,
+                    latencies.getMaxValue() / 1000.0);
+        });
+    }
+
+    // The requests of the operations, against the seeded items (which are only ever updated, so they're always there)
+    private static final class Target {
+        private final String baseUrl;
+        private final List<Item> items;
+        private final AtomicLong nameSequence = new AtomicLong();
+
+        Target(String baseUrl, List<Item> items) {
+            this.baseUrl = baseUrl;
+            this.items = items;
+        }
+
+        HttpRequest findById() {
+            return get("/id=" + randomItem().getId());
+        }
+
+        HttpRequest findPage() {
+            return get("?page=" + ThreadLocalRandom.current().nextInt(SEED_ITEMS / 20) + "&size=20");
+        }
+
+        HttpRequest findSlice() {
+            return get("?cursor=" + new ItemCursor(randomItem().getId()).encode() + "&size=20");
+        }
+
+        HttpRequest create() {
+            return request("", "POST", item("Load item " + nameSequence.incrementAndGet(), "NEW"));
+        }
+
+        // The name is kept, only the description and the status change
+        HttpRequest update() {
+            Item item = randomItem();
+
+            return request("/id=" + item.getId(), "PUT", item(item.getName(), ThreadLocalRandom.current().nextBoolean() ? "NEW" : "PROCESSED"));
+        }
+
+        HttpRequest createBulk() {
+            return request("/bulk", "POST", IntStream.range(0, BULK_SIZE)
+                    .mapToObj(i -> item("Load bulk item " + nameSequence.incrementAndGet(), "NEW"))
+                    .collect(Collectors.joining(",", "[", "]")));
+        }
+
+        HttpRequest process() {
+            return get("/process");
+        }
+
+        private Item randomItem() {
+            return items.get(ThreadLocalRandom.current().nextInt(items.size()));
+        }
+
+        private HttpRequest get(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT).GET().build();
+        }
+
+        private HttpRequest request(String path, String method, String body) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+
+        private static String item(String name, String status) {
+            return """
+                    {"name": "%s", "description": "Load item %d", "status": "%s", "email": "benchmark@example.com"}"""
+                    .formatted(name, ThreadLocalRandom.current().nextInt(1000), status);
+        }
+    }
+
+    // The latencies (in microseconds) and the outcomes of the requests to one endpoint
+    // Rejected are the requests turned away by the load shedding (503), errors every other failure (or no answer at all)
+    private record Endpoint(Histogram latencies, LongAdder errors, LongAdder rejected, LongAdder dropped) {
+        Endpoint() {
+            this(new ConcurrentHistogram(3), new LongAdder(), new LongAdder(), new LongAdder());
+        }
+
+        void record(long latencyNanos, int statusCode) {
+            latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+
+            if (statusCode == 503) {
+                rejected.increment();
+            }
+
+            else if (statusCode == 0 || statusCode >= 400) {
+                errors.increment();
+            }
+        }
+    }
+
+    private record Operation(String endpoint, int weight, Function<Target, HttpRequest> request) {
+    }
+
+    // Arrivals at a rate, `burstSize` requests at a time, each one an operation picked by weight
+    private record Arrivals(double ratePerSecond, int burstSize, List<Operation> operations) {
+        Operation pick(Random random) {
+            int ticket = random.nextInt(operations.stream().mapToInt(Operation::weight).sum());
+
+            for (Operation operation : operations) {
+                ticket -= operation.weight();
+
+                if (ticket < 0) {
+                    return operation;
+                }
+            }
+
+            return operations.get(operations.size() - 1);
+        }
+    }
+
+    private record Workload(String name, List<Arrivals> streams) {
+    }
+
+    private record Result(Map<String, Endpoint> endpoints, long elapsedNanos) {
+    }
+}
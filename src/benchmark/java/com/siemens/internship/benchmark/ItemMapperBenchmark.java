@@ -0,0 +1,38 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.mapper.ItemMapper;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.response.ItemResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// The entity <-> response mapping that every read and write goes through
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemMapperBenchmark {
+    private final ItemMapper itemMapper = new ItemMapper();
+
+    private Item item;
+    private ItemResponse itemResponse;
+
+    @Setup
+    public void setup() {
+        item = Item.builder().id(1L).name("Item").description("Benchmark item").status("NEW").email("benchmark@example.com").build();
+        itemResponse = new ItemResponse(1L, "Item", "Benchmark item", "NEW", "benchmark@example.com", 0L);
+    }
+
+    @Benchmark
+    public ItemResponse toItemResponse() {
+        return itemMapper.toItemResponse(item);
+    }
+
+    @Benchmark
+    public Item toItem() {
+        return itemMapper.toItem(itemResponse);
+    }
+}
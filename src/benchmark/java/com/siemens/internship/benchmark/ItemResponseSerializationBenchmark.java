@@ -0,0 +1,65 @@
+package com.siemens.internship.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.siemens.internship.cache.ItemCache;
+import com.siemens.internship.configuration.ItemCacheProperties;
+import com.siemens.internship.response.HttpResponse;
+import com.siemens.internship.response.ItemResponse;
+import com.siemens.internship.response.SerializedItemResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Writing the GET /api/v1/items/id={id} envelope with the item serialized field by field,
+// against splicing the JSON that the item cache encoded when it loaded the item (run with -prof gc for the allocations)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemResponseSerializationBenchmark {
+    // short: the usual item, long: an item with a description of a few kilobytes
+    @Param({"short", "long"})
+    private String description;
+
+    private ObjectMapper objectMapper;
+    private ItemResponse itemResponse;
+    private SerializedItemResponse serializedItemResponse;
+
+    @Setup
+    public void setup() {
+        // Configured like the ObjectMapper that Spring Boot builds for the application
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        itemResponse = new ItemResponse(1L, "Item", description.equals("short") ? "Benchmark item" : "Benchmark item ".repeat(200),
+                "NEW", "benchmark@example.com", 0L);
+
+        serializedItemResponse = new ItemCache(new ItemCacheProperties(), objectMapper).getSerialized(1L, id -> itemResponse);
+    }
+
+    @Benchmark
+    public void serializeItem() throws Exception {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), envelope(itemResponse));
+    }
+
+    @Benchmark
+    public void splicePreSerializedItem() throws Exception {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), envelope(serializedItemResponse.json()));
+    }
+
+    private HttpResponse envelope(Object body) {
+        return HttpResponse
+                .builder()
+                .timestamp(LocalDateTime.now().toString())
+                .responseMessage("The item has been found successfully")
+                .responseStatus(HttpStatus.OK)
+                .responseStatusCode(HttpStatus.OK.value())
+                .body(body)
+                .build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.response.ItemResponse;
+import com.siemens.internship.search.ItemSearchIndex;
+import com.siemens.internship.service.implementation.ItemSearchService;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+// A search through the in-memory index over 100 000 items, the way GET /api/v1/items/search answers
+// (the repository only feeds the index once, at setup)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemSearchBenchmark {
+    private static final int ITEMS = 100_000;
+
+    private static final List<String> WORDS = List.of(
+            "keyboard", "mouse", "monitor", "laptop", "cable", "adapter", "charger", "headset", "speaker", "webcam",
+            "wireless", "mechanical", "ergonomic", "portable", "compact", "silent", "gaming", "office", "premium", "basic"
+    );
+
+    // word: one whole token, prefix: a short prefix matching a few tokens, words: two tokens that both have to match,
+    // rare: a token of a single item
+    @Param({"word", "prefix", "words", "rare"})
+    private String query;
+
+    private ItemSearchService itemSearchService;
+    private String searchQuery;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+
+        List<ItemResponse> items = LongStream.rangeClosed(1, ITEMS)
+                .mapToObj(id -> new ItemResponse(
+                        id,
+                        WORDS.get(random.nextInt(WORDS.size())) + " " + WORDS.get(random.nextInt(WORDS.size())) + " " + id,
+                        "A " + WORDS.get(random.nextInt(WORDS.size())) + " for the " + WORDS.get(random.nextInt(WORDS.size())),
+                        "NEW",
+                        "benchmark@example.com",
+                        0L
+                ))
+                .toList();
+
+        ItemRepository itemRepository = Mockito.mock(ItemRepository.class);
+        Mockito.when(itemRepository.streamAllResponses()).thenReturn(items.stream());
+
+        ItemSearchIndex itemSearchIndex = new ItemSearchIndex(itemRepository);
+        itemSearchIndex.rebuild();
+
+        itemSearchService = new ItemSearchService(itemSearchIndex);
+
+        searchQuery = switch (query) {
+            case "word" -> "ergonomic";
+            case "prefix" -> "mo";
+            case "words" -> "wireless keyboard";
+            default -> "54321";
+        };
+    }
+
+    @Benchmark
+    public Page<ItemResponse> search() {
+        return itemSearchService.search(searchQuery, PageRequest.of(0, 20));
+    }
+}
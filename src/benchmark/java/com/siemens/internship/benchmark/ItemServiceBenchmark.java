@@ -0,0 +1,86 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.InternshipApplication;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.request.ItemRequest;
+import com.siemens.internship.response.ItemResponse;
+import com.siemens.internship.service.implementation.ItemService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+// ItemService CRUD through the Spring proxies (transactions, cache) against the embedded H2 database
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemServiceBenchmark {
+    private static final int ITEMS = 10_000;
+
+    private final AtomicLong nameSequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+
+    @Setup
+    public void setup() {
+        // A devtools restart would start a second context in the benchmark fork
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        context = new SpringApplicationBuilder(InternshipApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark-service;DB_CLOSE_ON_EXIT=FALSE",
+                        "--logging.level.root=WARN"
+                );
+
+        itemService = context.getBean(ItemService.class);
+
+        context.getBean(ItemRepository.class).saveAll(IntStream.range(0, ITEMS)
+                .mapToObj(i -> Item.builder().name("Item " + i).description("Benchmark item").status("NEW").email("benchmark@example.com").build())
+                .toList());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    // Served from the item cache after the first read of each id
+    @Benchmark
+    public ItemResponse findById() {
+        return itemService.findById(ThreadLocalRandom.current().nextLong(1, ITEMS + 1));
+    }
+
+    @Benchmark
+    public Page<ItemResponse> findAllPage() {
+        return itemService.findAll(PageRequest.of(ThreadLocalRandom.current().nextInt(ITEMS / 20), 20));
+    }
+
+    @Benchmark
+    public ItemResponse updateById() {
+        // The name is kept, the lookup is a cache hit
+        ItemResponse item = itemService.findById(ThreadLocalRandom.current().nextLong(1, ITEMS + 1));
+
+        return itemService.updateById(item.id(), new ItemRequest(item.name(), "Updated benchmark item", "PROCESSED", "benchmark@example.com"), null);
+    }
+
+    // Deletes what it creates, so the table keeps its size for the other benchmarks
+    @Benchmark
+    public void saveAndDelete() {
+        ItemResponse savedItem = itemService.save(new ItemRequest("Saved item " + nameSequence.incrementAndGet(), "Benchmark item", "NEW", "benchmark@example.com"));
+
+        itemService.deleteById(savedItem.id());
+    }
+}
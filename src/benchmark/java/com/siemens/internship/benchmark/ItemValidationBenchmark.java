@@ -0,0 +1,59 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.request.ItemRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Bean Validation of a request body, the email @Pattern is the expensive constraint
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemValidationBenchmark {
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+
+    private ItemRequest validRequest;
+    private ItemRequest invalidEmailRequest;
+    private ItemRequest longEmailRequest;
+
+    @Setup
+    public void setup() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        validRequest = new ItemRequest("Item", "Benchmark item", "NEW", "benchmark@example.com");
+        invalidEmailRequest = new ItemRequest("Item", "Benchmark item", "NEW", "benchmark.example.com");
+
+        // A long local part that fails late makes the pattern backtrack
+        longEmailRequest = new ItemRequest("Item", "Benchmark item", "NEW", "a.".repeat(30) + "a@" + "b-".repeat(15) + "b");
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ItemRequest>> validRequest() {
+        return validator.validate(validRequest);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ItemRequest>> invalidEmail() {
+        return validator.validate(invalidEmailRequest);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ItemRequest>> longInvalidEmail() {
+        return validator.validate(longEmailRequest);
+    }
+}
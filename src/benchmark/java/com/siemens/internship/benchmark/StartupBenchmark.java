@@ -0,0 +1,129 @@
+package com.siemens.internship.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// How long a new instance takes from the start of its JVM to its first successful request (a POST /api/v1/items that
+// answers 201, so the web server, the database and the whole item path are up), with and without the fast startup
+// Every run starts a new JVM from the jar that "mvn -Pfast-startup package" leaves in target/fast-startup
+// Arguments: [runs per mode] [directory of the extracted jar]
+public class StartupBenchmark {
+    private static final String ITEM = """
+            {"name": "Startup item", "description": "Benchmark item", "status": "NEW", "email": "benchmark@example.com"}""";
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        Path directory = Path.of(args.length > 1 ? args[1] : "target/fast-startup");
+
+        Path jar;
+
+        try (Stream<Path> files = Files.list(directory)) {
+            jar = files.filter(file -> file.toString().endsWith(".jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No jar in " + directory.toAbsolutePath() + ", build it with: mvn -Pfast-startup package"));
+        }
+
+        List<Mode> modes = List.of(
+                new Mode("regular", List.of()),
+                new Mode("aot", List.of("-Dspring.aot.enabled=true")),
+                new Mode("aot+cds", List.of("-XX:SharedArchiveFile=application.jsa", "-Dspring.aot.enabled=true"))
+        );
+
+        List<Result> results = new ArrayList<>();
+
+        for (Mode mode : modes) {
+            List<Long> startupMillis = new ArrayList<>();
+
+            // The first start warms up the file system cache, it isn't counted
+            start(jar, mode);
+
+            for (int i = 0; i < runs; i++) {
+                startupMillis.add(start(jar, mode));
+            }
+
+            results.add(new Result(mode.name(), startupMillis.stream().sorted().toList()));
+        }
+
+        System.out.printf("%n%s, %d runs per mode, time to the first successful request%n", jar.getFileName(), runs);
+        System.out.printf("%-10s %10s %10s %10s%n", "mode", "min ms", "median ms", "max ms");
+
+        for (Result result : results) {
+            List<Long> sorted = result.startupMillis();
+            System.out.printf("%-10s %10d %10d %10d%n", result.mode(), sorted.get(0), sorted.get(sorted.size() / 2), sorted.get(sorted.size() - 1));
+        }
+    }
+
+    private static long start(Path jar, Mode mode) throws Exception {
+        int port = freePort();
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(mode.jvmArguments());
+        command.addAll(List.of("-jar", jar.getFileName().toString(), "--server.port=" + port, "--logging.level.root=WARN"));
+
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/items"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(ITEM))
+                .build();
+
+        long startTime = System.nanoTime();
+
+        // Started from the directory of the jar, the archive is looked up relative to it
+        Process process = new ProcessBuilder(command)
+                .directory(jar.getParent().toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.to(new File(System.getProperty("java.io.tmpdir"), "startup-benchmark.log")))
+                .start();
+
+        try {
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("The " + mode.name() + " instance exited with " + process.exitValue()
+                            + ", see " + System.getProperty("java.io.tmpdir") + "/startup-benchmark.log");
+                }
+
+                try {
+                    if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 201) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+                    }
+                }
+
+                catch (IOException e) {
+                    // Not listening yet
+                }
+
+                TimeUnit.MILLISECONDS.sleep(5);
+            }
+        }
+
+        finally {
+            process.destroy();
+            process.waitFor(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Mode(String name, List<String> jvmArguments) {
+    }
+
+    private record Result(String mode, List<Long> startupMillis) {
+    }
+}
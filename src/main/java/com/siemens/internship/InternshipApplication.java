@@ -2,12 +2,14 @@ package com.siemens.internship;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.data.web.config.EnableSpringDataWebSupport;
 import org.springframework.scheduling.annotation.EnableAsync;
 
 import static org.springframework.data.web.config.EnableSpringDataWebSupport.PageSerializationMode.VIA_DTO;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 @EnableAsync
 @EnableSpringDataWebSupport(pageSerializationMode = VIA_DTO)
 public class InternshipApplication {
@@ -0,0 +1,98 @@
+package com.siemens.internship.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// A limit on the number of requests in flight that follows their latency: it grows while the requests take about as long
+// as they usually do and shrinks once they get slower (i.e. once they start queueing for connections or threads)
+// The usual latency is a slow moving average of all the samples, the current one a fast moving average of the last few
+public class AdaptiveConcurrencyLimit {
+    // How much the current and the usual latency move with every sample (about the last 10 and 500 samples)
+    private static final double CURRENT_LATENCY_WEIGHT = 0.1;
+    private static final double USUAL_LATENCY_WEIGHT = 0.002;
+
+    // How much of a newly computed limit is taken at once
+    private static final double LIMIT_SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+
+    private volatile double limit;
+
+    // Only touched by release, under the lock
+    private double currentLatency;
+    private double usualLatency;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double latencyTolerance) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTolerance = latencyTolerance;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+
+            if (current >= getLimit()) {
+                rejected.incrementAndGet();
+                return false;
+            }
+
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // Called once an admitted request is done, with how long it took
+    public void release(long latencyNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+
+        update(latencyNanos, inFlightBefore);
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    private synchronized void update(double latency, int inFlightBefore) {
+        if (usualLatency == 0) {
+            currentLatency = latency;
+            usualLatency = latency;
+            return;
+        }
+
+        currentLatency += (latency - currentLatency) * CURRENT_LATENCY_WEIGHT;
+        usualLatency += (latency - usualLatency) * USUAL_LATENCY_WEIGHT;
+
+        // The load has gone down, the usual latency follows it faster than it would on its own
+        if (usualLatency > currentLatency * 2) {
+            usualLatency *= 0.95;
+        }
+
+        // A limit that is far from being reached says nothing about whether it is too low
+        if (inFlightBefore < limit / 2) {
+            return;
+        }
+
+        // 1 while the requests are within the tolerance, down to 0.5 as they get slower, and a bit of room
+        // on top of it (the square root of the limit) so that the limit keeps probing for more
+        double gradient = Math.clamp(latencyTolerance * usualLatency / currentLatency, 0.5, 1.0);
+        double newLimit = limit * gradient + Math.sqrt(limit);
+
+        limit = Math.clamp(limit * (1 - LIMIT_SMOOTHING) + newLimit * LIMIT_SMOOTHING, minLimit, maxLimit);
+    }
+}
@@ -0,0 +1,25 @@
+package com.siemens.internship.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+// Every class has its own limit, so a burst of writes (or a few processing runs) can't take the capacity of the reads
+public enum AdmissionClass {
+    READ,
+    WRITE,
+    // The processing, the export and the import (a whole table, or a whole upload, per request)
+    PROCESS;
+
+    public static AdmissionClass of(HttpServletRequest request) {
+        String path = request.getRequestURI();
+
+        if ((path.contains("/process") && !path.contains("/process/jobs")) || path.endsWith("/export") || path.endsWith("/import")) {
+            return PROCESS;
+        }
+
+        if (request.getMethod().equals("GET") || request.getMethod().equals("HEAD")) {
+            return READ;
+        }
+
+        return WRITE;
+    }
+}
@@ -0,0 +1,100 @@
+package com.siemens.internship.admission;
+
+import com.siemens.internship.configuration.AdmissionControlProperties;
+import com.siemens.internship.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+// Turns requests away (503 with Retry-After) once their class has as many requests in flight as its limit allows,
+// instead of letting them queue for the connection pool or the executors while the latency of everyone grows
+// An asynchronous request (e.g. the chunked processing) keeps its permit until its result has been written
+@Component
+@Slf4j
+public class AdmissionControlInterceptor implements AsyncHandlerInterceptor, MeterBinder {
+    private static final String PERMIT_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".permit";
+
+    private final AdmissionControlProperties admissionControlProperties;
+    private final Map<AdmissionClass, AdaptiveConcurrencyLimit> limits = new EnumMap<>(AdmissionClass.class);
+
+    public AdmissionControlInterceptor(AdmissionControlProperties admissionControlProperties) {
+        this.admissionControlProperties = admissionControlProperties;
+
+        limits.put(AdmissionClass.READ, limit(admissionControlProperties.getRead()));
+        limits.put(AdmissionClass.WRITE, limit(admissionControlProperties.getWrite()));
+        limits.put(AdmissionClass.PROCESS, limit(admissionControlProperties.getProcess()));
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The dispatch that writes the result of an asynchronous request has been admitted already
+        if (!admissionControlProperties.isEnabled() || request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            return true;
+        }
+
+        AdmissionClass admissionClass = AdmissionClass.of(request);
+        AdaptiveConcurrencyLimit limit = limits.get(admissionClass);
+
+        if (!limit.tryAcquire()) {
+            log.warn("[AdmissionControlInterceptor] Rejecting a {} request to \"{}\", {} requests of its class are in flight (limit {})",
+                    admissionClass, request.getRequestURI(), limit.getInFlight(), limit.getLimit());
+            throw new ServiceUnavailableException("The server is handling too many requests, please try again later",
+                    admissionControlProperties.getRetryAfter());
+        }
+
+        request.setAttribute(PERMIT_ATTRIBUTE, new Permit(limit, System.nanoTime()));
+
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception exception) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof Permit permit) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permit.limit().release(System.nanoTime() - permit.startTime());
+        }
+    }
+
+    public AdaptiveConcurrencyLimit getLimit(AdmissionClass admissionClass) {
+        return limits.get(admissionClass);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        limits.forEach((admissionClass, limit) -> {
+            String tag = admissionClass.name().toLowerCase();
+
+            Gauge.builder("admission.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                    .description("The number of requests that may be in flight at once")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+
+            Gauge.builder("admission.in.flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                    .description("The number of admitted requests in flight")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+
+            FunctionCounter.builder("admission.rejected", limit, AdaptiveConcurrencyLimit::getRejected)
+                    .description("The number of requests turned away because the limit was reached")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+        });
+    }
+
+    private AdaptiveConcurrencyLimit limit(AdmissionControlProperties.Limit limit) {
+        return new AdaptiveConcurrencyLimit(limit.getInitialLimit(), limit.getMinLimit(), limit.getMaxLimit(),
+                admissionControlProperties.getLatencyTolerance());
+    }
+
+    private record Permit(AdaptiveConcurrencyLimit limit, long startTime) {
+    }
+}
@@ -0,0 +1,101 @@
+package com.siemens.internship.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.siemens.internship.configuration.ItemCacheProperties;
+import com.siemens.internship.event.ItemsChangedEvent;
+import com.siemens.internship.response.ItemCacheStatisticsResponse;
+import com.siemens.internship.response.ItemResponse;
+import com.siemens.internship.response.SerializedItemResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.UncheckedIOException;
+import java.util.function.Function;
+
+@Component
+@Slf4j
+public class ItemCache implements MeterBinder {
+    private final Cache<Long, SerializedItemResponse> cache;
+    private final ObjectWriter itemWriter;
+
+    // The JSON is written with the ObjectMapper of the application, so it is the same as what Spring MVC would write
+    public ItemCache(ItemCacheProperties itemCacheProperties, ObjectMapper objectMapper) {
+        this.cache = Caffeine
+                .newBuilder()
+                .maximumSize(itemCacheProperties.getMaximumSize())
+                .expireAfterWrite(itemCacheProperties.getTimeToLive())
+                .recordStats()
+                .build();
+
+        this.itemWriter = objectMapper.writerFor(ItemResponse.class);
+    }
+
+    public ItemResponse get(Long id, Function<Long, ItemResponse> loader) {
+        return getSerialized(id, loader).item();
+    }
+
+    // Null when the item isn't cached, nothing is loaded
+    public ItemResponse getIfPresent(Long id) {
+        SerializedItemResponse item = cache.getIfPresent(id);
+
+        return item == null ? null : item.item();
+    }
+
+    // Concurrent misses on the same id wait for a single load instead of all hitting the database,
+    // a loader that throws (e.g. the item doesn't exist) leaves nothing behind in the cache
+    public SerializedItemResponse getSerialized(Long id, Function<Long, ItemResponse> loader) {
+        return cache.get(id, key -> serialize(loader.apply(key)));
+    }
+
+    // Runs after the commit, so a reader can't put the old state back once the entry is gone
+    // (and without a transaction, e.g. from the tests, it runs right away)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemsChanged(ItemsChangedEvent event) {
+        log.debug("[ItemCache] Invalidating {} cached items", event.itemIds().size());
+        cache.invalidateAll(event.itemIds());
+    }
+
+    // Serialized once per load, every read of the cached item then only copies the bytes into the response
+    private SerializedItemResponse serialize(ItemResponse item) {
+        try {
+            SerializedString json = new SerializedString(itemWriter.writeValueAsString(item));
+            json.asUnquotedUTF8(); // Encode it now, the generator copies these bytes as they are
+
+            return new SerializedItemResponse(item, new RawValue(json));
+        }
+
+        catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public ItemCacheStatisticsResponse getStatistics() {
+        CacheStats stats = cache.stats();
+
+        return new ItemCacheStatisticsResponse(
+                cache.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.loadCount(),
+                stats.evictionCount()
+        );
+    }
+
+    // Spring Boot binds every MeterBinder bean, this adds the cache.* metrics (gets, puts, evictions, size) with cache="items"
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "items");
+    }
+}
@@ -0,0 +1,44 @@
+package com.siemens.internship.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "internship.admission")
+public class AdmissionControlProperties {
+    private boolean enabled = true;
+
+    // What the Retry-After header of a rejected request asks the client to wait
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    // How much slower than usual the requests may get before the limit goes down (2.0 = twice as slow)
+    private double latencyTolerance = 2.0;
+
+    // The limits start at the initial value and then move between the minimum and the maximum
+    private Limit read = new Limit(50, 5, 200);
+    private Limit write = new Limit(20, 2, 100);
+
+    // The processing runs on the taskExecutor, which has 10 threads and no queue
+    private Limit process = new Limit(4, 1, 10);
+
+    @Getter
+    @Setter
+    public static class Limit {
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+
+        public Limit() {
+        }
+
+        public Limit(int initialLimit, int minLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+    }
+}
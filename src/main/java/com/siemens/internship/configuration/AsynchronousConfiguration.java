@@ -1,23 +1,71 @@
 package com.siemens.internship.configuration;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
+// The thread pools get their executor.* gauges (active, queued, pool size...) from Spring Boot, tagged with the bean name,
+// the rejections and the gauges of the virtual-thread executors are registered here under the same names
 @Configuration
 public class AsynchronousConfiguration {
     @Bean
-    public Executor taskExecutor() {
+    public Executor taskExecutor(AsynchronousProperties asynchronousProperties,
+                                 @Value("${spring.datasource.hikari.maximum-pool-size:10}") int databasePoolSize,
+                                 MeterRegistry meterRegistry) {
+        // Every @Async invocation works against the database, so in the virtual mode
+        // the number of invocations running at once is capped by the connection pool
+        if (asynchronousProperties.getMode() == AsynchronousProperties.ExecutionMode.VIRTUAL) {
+            return monitor(new BoundedVirtualThreadExecutor("ItemProcessor-", databasePoolSize), databasePoolSize, "taskExecutor", meterRegistry);
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
 
         executor.setCorePoolSize(10);
         executor.setMaxPoolSize(10);
         executor.setQueueCapacity(0);
         executor.setThreadNamePrefix("ItemProcessor-");
+        executor.setRejectedExecutionHandler(countingAbortPolicy("taskExecutor", meterRegistry));
         executor.initialize();
 
         return executor;
     }
+
+    // Still rejects like the default policy (Spring turns it into a TaskRejectedException), but counts it first
+    private ThreadPoolExecutor.AbortPolicy countingAbortPolicy(String name, MeterRegistry meterRegistry) {
+        Counter rejectedTasks = Counter.builder("executor.rejected")
+                .description("The number of tasks the executor rejected")
+                .tag("name", name)
+                .register(meterRegistry);
+
+        return new ThreadPoolExecutor.AbortPolicy() {
+            @Override
+            public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+                rejectedTasks.increment();
+                super.rejectedExecution(task, executor);
+            }
+        };
+    }
+
+    // A virtual-thread executor never rejects, its tasks wait for a permit instead,
+    // so the waiting tasks are its queue and the taken permits its active tasks
+    private BoundedVirtualThreadExecutor monitor(BoundedVirtualThreadExecutor executor, int maxConcurrency, String name, MeterRegistry meterRegistry) {
+        Gauge.builder("executor.active", executor, e -> maxConcurrency - e.getAvailablePermits())
+                .description("The number of tasks holding a permit")
+                .tag("name", name)
+                .register(meterRegistry);
+
+        Gauge.builder("executor.queued", executor, BoundedVirtualThreadExecutor::getWaitingTasks)
+                .description("The number of tasks waiting for a permit")
+                .tag("name", name)
+                .register(meterRegistry);
+
+        return executor;
+    }
 }
@@ -0,0 +1,18 @@
+package com.siemens.internship.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "internship.async")
+public class AsynchronousProperties {
+    // PLATFORM runs the tasks on fixed thread pools, VIRTUAL starts a virtual thread per task
+    private ExecutionMode mode = ExecutionMode.PLATFORM;
+
+    public enum ExecutionMode {
+        PLATFORM,
+        VIRTUAL
+    }
+}
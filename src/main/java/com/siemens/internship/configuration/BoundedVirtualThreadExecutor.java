@@ -0,0 +1,47 @@
+package com.siemens.internship.configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+public class BoundedVirtualThreadExecutor implements Executor, AutoCloseable {
+    private final ExecutorService executorService;
+    private final Semaphore semaphore;
+
+    public BoundedVirtualThreadExecutor(String threadNamePrefix, int maxConcurrency) {
+        this.executorService = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(threadNamePrefix, 0).factory());
+        this.semaphore = new Semaphore(maxConcurrency, true);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        // Every task gets its own virtual thread right away (so nothing is ever rejected), the semaphore
+        // decides how many of them run at the same time and the rest stay parked until a permit frees up
+        executorService.execute(() -> {
+            semaphore.acquireUninterruptibly();
+
+            try {
+                task.run();
+            }
+
+            finally {
+                semaphore.release();
+            }
+        });
+    }
+
+    public int getAvailablePermits() {
+        return semaphore.availablePermits();
+    }
+
+    public int getWaitingTasks() {
+        return semaphore.getQueueLength();
+    }
+
+    @Override
+    public void close() {
+        // Waits for the submitted tasks to finish
+        executorService.close();
+    }
+}
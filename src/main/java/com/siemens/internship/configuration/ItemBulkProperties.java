@@ -0,0 +1,16 @@
+package com.siemens.internship.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "internship.bulk")
+public class ItemBulkProperties {
+    // How many items are checked and written together, each chunk in its own transaction
+    private int chunkSize = 500;
+
+    // The largest number of items a single bulk request may contain
+    private int maximumItems = 10000;
+}
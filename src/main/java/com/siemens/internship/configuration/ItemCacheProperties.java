@@ -0,0 +1,18 @@
+package com.siemens.internship.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "internship.cache.items")
+public class ItemCacheProperties {
+    // Once the cache is full, the least valuable entries are evicted first
+    private long maximumSize = 10_000;
+
+    // An entry is dropped this long after it was loaded, even if it is still being read
+    private Duration timeToLive = Duration.ofMinutes(10);
+}
@@ -0,0 +1,17 @@
+package com.siemens.internship.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "internship.import")
+public class ItemImportProperties {
+    // How many rejected rows are listed in the report, so a completely broken upload can't fill the memory with them
+    private int maximumRejections = 1000;
+
+    // How many characters a line may have, a valid row needs far less (every field is at most 100 characters)
+    // and a longer line fails the upload before it is ever held in memory
+    private int maximumLineLength = 4096;
+}
@@ -0,0 +1,22 @@
+package com.siemens.internship.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "internship.name-filter")
+public class ItemNameFilterProperties {
+    // Off: every name check of the bulk writes goes to the database
+    private boolean enabled = true;
+
+    // The filter is sized for this many names (or twice the names there are, whichever is more)
+    private int expectedNames = 100_000;
+
+    // The share of the free names the filter can't rule out, at its expected number of names
+    private double falsePositiveRate = 0.01;
+
+    // Deleted and renamed items stay in the filter, once the measured rate goes above this it is rebuilt
+    private double maximumFalsePositiveRate = 0.05;
+}
@@ -0,0 +1,56 @@
+package com.siemens.internship.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "internship.processing")
+public class ItemProcessingProperties {
+    // How many items are read, processed and written back together
+    private int chunkSize = 500;
+
+    // PER_ITEM loads the items of a chunk and runs them through the stages of the pipeline,
+    // SET_BASED updates the whole chunk with a single statement (no item is loaded)
+    private ProcessingMode mode = ProcessingMode.PER_ITEM;
+
+    // A finished job and its results are deleted this long after it finished (checked whenever a job is started)
+    private Duration retention = Duration.ofDays(7);
+
+    // How a chunk of the items runs through the stages (PER_ITEM mode), for GET /process and /process/chunked alike
+    private Pipeline pipeline = new Pipeline();
+
+    public enum ProcessingMode {
+        PER_ITEM,
+        SET_BASED
+    }
+
+    @Getter
+    @Setter
+    public static class Pipeline {
+        // By the name of the stage (enrich, transform, validate, persist), a stage that isn't listed gets the defaults
+        private Map<String, Stage> stages = new HashMap<>();
+
+        // How many processed items the persist stage writes per transaction
+        private int batchSize = 50;
+
+        public Stage getStage(String name) {
+            return stages.getOrDefault(name, new Stage());
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Stage {
+        // How many items the stage works on at the same time
+        private int parallelism = 1;
+
+        // How many items may wait for the stage, a full queue blocks the stage before it
+        private int queueCapacity = 100;
+    }
+}
@@ -0,0 +1,23 @@
+package com.siemens.internship.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "internship.write-behind")
+public class ItemWriteBehindProperties {
+    // Off: every update is written in its own transaction before it is acknowledged
+    // On: an update without If-Match is acknowledged once it is buffered, and written by the next flush
+    private boolean enabled = false;
+
+    // How long an update may wait in the buffer at most (give or take the time of a flush)
+    private Duration flushInterval = Duration.ofMillis(100);
+
+    // Once this many items have a pending update the buffer is flushed right away,
+    // it is also the number of items written per transaction
+    private int flushSize = 500;
+}
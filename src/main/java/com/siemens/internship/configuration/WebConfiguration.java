@@ -0,0 +1,22 @@
+package com.siemens.internship.configuration;
+
+import com.siemens.internship.admission.AdmissionControlInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Also registers the admission control properties for the web slice tests, which don't scan for properties
+@Configuration
+@EnableConfigurationProperties(AdmissionControlProperties.class)
+@RequiredArgsConstructor
+public class WebConfiguration implements WebMvcConfigurer {
+    private final AdmissionControlInterceptor admissionControlInterceptor;
+
+    // Only the item endpoints, the actuator (health checks, metrics scrapes) has to answer while the items are overloaded
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(admissionControlInterceptor).addPathPatterns("/api/v1/items/**");
+    }
+}
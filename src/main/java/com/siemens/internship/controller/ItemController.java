@@ -1,36 +1,138 @@
 package com.siemens.internship.controller;
 
+import com.siemens.internship.exception.BadRequestException;
+import com.siemens.internship.model.ItemImportFormat;
+import com.siemens.internship.request.ItemCursor;
+import com.siemens.internship.request.ItemField;
 import com.siemens.internship.request.ItemRequest;
+import com.siemens.internship.request.ItemUpdateRequest;
 import com.siemens.internship.response.HttpResponse;
+import com.siemens.internship.response.ItemBulkResponse;
+import com.siemens.internship.response.ItemCacheStatisticsResponse;
+import com.siemens.internship.response.ItemImportReport;
 import com.siemens.internship.response.ItemResponse;
+import com.siemens.internship.response.ItemSliceResponse;
+import com.siemens.internship.response.ItemStatusCountsResponse;
+import com.siemens.internship.response.ProcessingJobResponse;
+import com.siemens.internship.response.ProcessingJobResultResponse;
+import com.siemens.internship.response.SerializedItemResponse;
+import com.siemens.internship.service.implementation.ItemBulkService;
+import com.siemens.internship.service.implementation.ItemExportService;
+import com.siemens.internship.service.implementation.ItemImportService;
+import com.siemens.internship.service.implementation.ItemSearchService;
 import com.siemens.internship.service.implementation.ItemService;
+import com.siemens.internship.service.implementation.ProcessingJobService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
 import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/v1/items") // Better to include API versioning
 @RequiredArgsConstructor
 @Slf4j
 public class ItemController {
+    private static final int MAX_CURSOR_PAGE_SIZE = 1000;
+
     private final ItemService itemService;
+    private final ItemBulkService itemBulkService;
+    private final ItemExportService itemExportService;
+    private final ItemImportService itemImportService;
+    private final ItemSearchService itemSearchService;
+    private final ProcessingJobService processingJobService;
 
+    // ?fields=name,status returns only those fields (and the id) of every item, without an ETag (it is built from the versions)
     @GetMapping
-    public ResponseEntity<HttpResponse> getAllItems(Pageable pageable) {
+    public ResponseEntity<HttpResponse> getAllItems(Pageable pageable,
+                                                    @RequestParam(value = "fields", required = false) String fields,
+                                                    WebRequest webRequest) {
         log.info("[ItemController] Getting all items with the following pagination parameters: {}", pageable);
 
+        if (fields != null) {
+            return ResponseEntity.ok(
+                    HttpResponse
+                            .builder()
+                            .timestamp(LocalDateTime.now().toString())
+                            .responseMessage("The items have been found successfully")
+                            .responseStatus(HttpStatus.OK)
+                            .responseStatusCode(HttpStatus.OK.value())
+                            .body(itemService.findAll(pageable, ItemField.parse(fields)))
+                            .build()
+            );
+        }
+
         Page<ItemResponse> result = itemService.findAll(pageable);
+        String eTag = ItemETags.of(result);
 
-        return ResponseEntity.ok(
+        // The page still has to be read, but the envelope isn't built (nor serialized) when the client already has it
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok().eTag(eTag).body(
+                HttpResponse
+                        .builder()
+                        .timestamp(LocalDateTime.now().toString())
+                        .responseMessage("The items have been found successfully")
+                        .responseStatus(HttpStatus.OK)
+                        .responseStatusCode(HttpStatus.OK.value())
+                        .body(result)
+                        .build()
+        );
+    }
+
+    // Only used when the client asks for it with a cursor (an empty one for the first page), plain page requests keep the Pageable behavior
+    @GetMapping(params = "cursor")
+    public ResponseEntity<HttpResponse> getAllItemsByCursor(@RequestParam("cursor") String cursor,
+                                                            @RequestParam(value = "size", defaultValue = "10") int size,
+                                                            @RequestParam(value = "fields", required = false) String fields,
+                                                            WebRequest webRequest) {
+        log.info("[ItemController] Getting all items after the cursor \"{}\" with a page size of {}", cursor, size);
+
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new BadRequestException(String.format("The page size must be between 1 and %d", MAX_CURSOR_PAGE_SIZE));
+        }
+
+        if (fields != null) {
+            return ResponseEntity.ok(
+                    HttpResponse
+                            .builder()
+                            .timestamp(LocalDateTime.now().toString())
+                            .responseMessage("The items have been found successfully")
+                            .responseStatus(HttpStatus.OK)
+                            .responseStatusCode(HttpStatus.OK.value())
+                            .body(itemService.findAll(ItemCursor.decode(cursor), size, ItemField.parse(fields)))
+                            .build()
+            );
+        }
+
+        ItemSliceResponse result = itemService.findAll(ItemCursor.decode(cursor), size);
+        String eTag = ItemETags.of(result);
+
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok().eTag(eTag).body(
                 HttpResponse
                         .builder()
                         .timestamp(LocalDateTime.now().toString())
@@ -43,36 +145,248 @@ public class ItemController {
     }
 
     @GetMapping("/id={id}")
-    public ResponseEntity<HttpResponse> getItemById(@PathVariable("id") Long id) {
+    public ResponseEntity<HttpResponse> getItemById(@PathVariable("id") Long id,
+                                                    @RequestParam(value = "fields", required = false) String fields,
+                                                    WebRequest webRequest) {
         log.info("[ItemController] Getting an item by id \"{}\"", id);
 
-        ItemResponse result = itemService.findById(id);
+        // Only the requested fields, without an ETag (the version may not be one of them)
+        if (fields != null) {
+            return ResponseEntity.ok(
+                    HttpResponse
+                            .builder()
+                            .timestamp(LocalDateTime.now().toString())
+                            .responseMessage("The item has been found successfully")
+                            .responseStatus(HttpStatus.OK)
+                            .responseStatusCode(HttpStatus.OK.value())
+                            .body(itemService.findById(id, ItemField.parse(fields)))
+                            .build()
+            );
+        }
 
-        return ResponseEntity.ok(
+        SerializedItemResponse result = itemService.findSerializedById(id);
+        String eTag = ItemETags.of(result.item());
+
+        // A 304 without a body when the client already has this version (the item itself usually comes from the cache)
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok().eTag(eTag).body(
                 HttpResponse
                         .builder()
                         .timestamp(LocalDateTime.now().toString())
                         .responseMessage("The item has been found successfully")
                         .responseStatus(HttpStatus.OK)
                         .responseStatusCode(HttpStatus.OK.value())
+                        .body(result.json()) // Spliced into the envelope as it was cached, the item isn't serialized again
+                        .build()
+        );
+    }
+
+    // Walks the items of one status in id order through the (status, id) index, with the same cursors as the listing of all items
+    @GetMapping("/status={status}")
+    public ResponseEntity<HttpResponse> getItemsByStatus(@PathVariable("status") String status,
+                                                         @RequestParam(value = "cursor", defaultValue = "") String cursor,
+                                                         @RequestParam(value = "size", defaultValue = "10") int size,
+                                                         WebRequest webRequest) {
+        log.info("[ItemController] Getting the items with the status \"{}\" after the cursor \"{}\" with a page size of {}", status, cursor, size);
+
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new BadRequestException(String.format("The page size must be between 1 and %d", MAX_CURSOR_PAGE_SIZE));
+        }
+
+        ItemSliceResponse result = itemService.findAllByStatus(status, ItemCursor.decode(cursor), size);
+        String eTag = ItemETags.of(result);
+
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok().eTag(eTag).body(
+                HttpResponse
+                        .builder()
+                        .timestamp(LocalDateTime.now().toString())
+                        .responseMessage("The items have been found successfully")
+                        .responseStatus(HttpStatus.OK)
+                        .responseStatusCode(HttpStatus.OK.value())
+                        .body(result)
+                        .build()
+        );
+    }
+
+    // Answered from counters kept up to date by the writes, a dashboard polling it with If-None-Match mostly gets 304s
+    @GetMapping("/statuses")
+    public ResponseEntity<HttpResponse> getStatusCounts(WebRequest webRequest) {
+        log.info("[ItemController] Getting the number of items per status");
+
+        ItemStatusCountsResponse result = itemService.getStatusCounts();
+        String eTag = ItemETags.of(result);
+
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok().eTag(eTag).body(
+                HttpResponse
+                        .builder()
+                        .timestamp(LocalDateTime.now().toString())
+                        .responseMessage("The item status counts have been found successfully")
+                        .responseStatus(HttpStatus.OK)
+                        .responseStatusCode(HttpStatus.OK.value())
+                        .body(result)
+                        .build()
+        );
+    }
+
+    // Token and prefix search over the names and descriptions, ranked by relevance and answered from the in-memory index
+    @GetMapping("/search")
+    public ResponseEntity<HttpResponse> searchItems(@RequestParam("q") String query, Pageable pageable) {
+        log.info("[ItemController] Searching items for \"{}\" with the following pagination parameters: {}", query, pageable);
+
+        Page<ItemResponse> result = itemSearchService.search(query, pageable);
+
+        return ResponseEntity.ok(
+                HttpResponse
+                        .builder()
+                        .timestamp(LocalDateTime.now().toString())
+                        .responseMessage("The items have been found successfully")
+                        .responseStatus(HttpStatus.OK)
+                        .responseStatusCode(HttpStatus.OK.value())
+                        .body(result)
+                        .build()
+        );
+    }
+
+    // Streams the whole table as newline delimited JSON, without the HttpResponse envelope (it would have to hold every item)
+    // The rows are written on the request thread as they are read, gzipped when the client accepts it
+    @GetMapping("/export")
+    public void exportItems(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                            HttpServletResponse response) throws IOException {
+        log.info("[ItemController] Exporting all items");
+
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"items.ndjson\"");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        try (OutputStream outputStream = gzip ? new GZIPOutputStream(response.getOutputStream(), 64 * 1024) : response.getOutputStream()) {
+            itemExportService.exportAll(outputStream);
+        }
+    }
+
+    @GetMapping("/cache/statistics")
+    public ResponseEntity<HttpResponse> getCacheStatistics() {
+        log.info("[ItemController] Getting the item cache statistics");
+
+        ItemCacheStatisticsResponse result = itemService.getCacheStatistics();
+
+        return ResponseEntity.ok(
+                HttpResponse
+                        .builder()
+                        .timestamp(LocalDateTime.now().toString())
+                        .responseMessage("The item cache statistics have been found successfully")
+                        .responseStatus(HttpStatus.OK)
+                        .responseStatusCode(HttpStatus.OK.value())
                         .body(result)
                         .build()
         );
     }
 
     @GetMapping("/process")
-    public CompletableFuture<ResponseEntity<HttpResponse>> processItemsAsync() {
-        log.info("[ItemController] Processing all items");
+    public ResponseEntity<HttpResponse> processItems() {
+        log.info("[ItemController] Starting a processing job for all items");
+
+        ProcessingJobResponse result = processingJobService.start();
+
+        URI location = URI.create("/api/v1/items/process/jobs/id=" + result.id());
+
+        // The job runs in the background, the client polls its progress from the returned location
+        return ResponseEntity.accepted().location(location).body(
+                HttpResponse
+                        .builder()
+                        .timestamp(LocalDateTime.now().toString())
+                        .responseMessage("The processing job has been started successfully")
+                        .responseStatus(HttpStatus.ACCEPTED)
+                        .responseStatusCode(HttpStatus.ACCEPTED.value())
+                        .body(result)
+                        .build()
+        );
+    }
+
+    @GetMapping("/process/jobs/id={id}")
+    public ResponseEntity<HttpResponse> getProcessingJobById(@PathVariable("id") Long id) {
+        log.info("[ItemController] Getting a processing job by id \"{}\"", id);
+
+        ProcessingJobResponse result = processingJobService.findById(id);
+
+        return ResponseEntity.ok(
+                HttpResponse
+                        .builder()
+                        .timestamp(LocalDateTime.now().toString())
+                        .responseMessage("The processing job has been found successfully")
+                        .responseStatus(HttpStatus.OK)
+                        .responseStatusCode(HttpStatus.OK.value())
+                        .body(result)
+                        .build()
+        );
+    }
+
+    @GetMapping("/process/jobs/id={id}/results")
+    public ResponseEntity<HttpResponse> getProcessingJobResultsById(@PathVariable("id") Long id, Pageable pageable) {
+        log.info("[ItemController] Getting the results of a processing job by id \"{}\" with the following pagination parameters: {}", id, pageable);
+
+        Page<ProcessingJobResultResponse> result = processingJobService.findResultsById(id, pageable);
+
+        return ResponseEntity.ok(
+                HttpResponse
+                        .builder()
+                        .timestamp(LocalDateTime.now().toString())
+                        .responseMessage("The processing job results have been found successfully")
+                        .responseStatus(HttpStatus.OK)
+                        .responseStatusCode(HttpStatus.OK.value())
+                        .body(result)
+                        .build()
+        );
+    }
+
+    @DeleteMapping("/process/jobs/id={id}")
+    public ResponseEntity<HttpResponse> cancelProcessingJobById(@PathVariable("id") Long id) {
+        log.info("[ItemController] Cancelling a processing job by id \"{}\"", id);
 
-        return itemService.processItemsAsync()
-                .thenApply(processedItems ->
+        ProcessingJobResponse result = processingJobService.cancelById(id);
+
+        return ResponseEntity.ok(
+                HttpResponse
+                        .builder()
+                        .timestamp(LocalDateTime.now().toString())
+                        .responseMessage("The processing job has been cancelled successfully")
+                        .responseStatus(HttpStatus.OK)
+                        .responseStatusCode(HttpStatus.OK.value())
+                        .body(result)
+                        .build()
+        );
+    }
+
+    @GetMapping("/process/chunked")
+    public CompletableFuture<ResponseEntity<HttpResponse>> processItemsInChunksAsync() {
+        log.info("[ItemController] Processing all items in chunks");
+
+        return itemService.processItemsInChunksAsync()
+                .thenApply(report ->
                         ResponseEntity.accepted().body(
                                 HttpResponse.builder()
                                         .timestamp(LocalDateTime.now().toString())
                                         .responseMessage("The items were processed successfully")
                                         .responseStatus(HttpStatus.ACCEPTED)
                                         .responseStatusCode(HttpStatus.ACCEPTED.value())
-                                        .body(processedItems)
+                                        .body(report)
                                         .build()
                         ));
     }
@@ -85,7 +399,7 @@ public class ItemController {
 
         URI location = URI.create("/api/v1/items/" + result.id());
 
-        return ResponseEntity.created(location).body(
+        return ResponseEntity.created(location).eTag(ItemETags.of(result)).body(
                 HttpResponse
                         .builder()
                         .timestamp(LocalDateTime.now().toString())
@@ -97,13 +411,41 @@ public class ItemController {
         );
     }
 
+    // With an If-Match header the update only goes through when the item is still at the version the client has seen
     @PutMapping("/id={id}")
-    public ResponseEntity<HttpResponse> updateItem(@PathVariable("id") Long id, @Valid @RequestBody ItemRequest request) {
+    public ResponseEntity<HttpResponse> updateItem(@PathVariable("id") Long id,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                   @Valid @RequestBody ItemRequest request) {
         log.info("[ItemController] Updating an item with the following id and request body: \"{}\" | {}", id, request);
 
-        ItemResponse result = itemService.updateById(id, request);
+        // In the write-behind mode an unconditional update is only buffered: 202, and no ETag since the item has no new version yet
+        // (a conditional one still has to compare the versions, so it is written right away)
+        if (ifMatch == null && itemService.isWriteBehindEnabled()) {
+            ItemResponse result = itemService.bufferUpdateById(id, request);
 
-        return ResponseEntity.ok(
+            return ResponseEntity.accepted().body(
+                    HttpResponse
+                            .builder()
+                            .timestamp(LocalDateTime.now().toString())
+                            .responseMessage("The item update has been accepted")
+                            .responseStatus(HttpStatus.ACCEPTED)
+                            .responseStatusCode(HttpStatus.ACCEPTED.value())
+                            .body(result)
+                            .build()
+            );
+        }
+
+        Long expectedVersion = ifMatch == null ? null : ItemETags.parseVersion(id, ifMatch);
+
+        // A buffered update of the item was acknowledged before this one, so it is written first: the version to match
+        // is the one after it, and the next flush can't overwrite this update with it
+        if (itemService.isWriteBehindEnabled()) {
+            itemService.flushBufferedUpdateById(id);
+        }
+
+        ItemResponse result = itemService.updateById(id, request, expectedVersion);
+
+        return ResponseEntity.ok().eTag(ItemETags.of(result)).body(
                 HttpResponse
                         .builder()
                         .timestamp(LocalDateTime.now().toString())
@@ -131,4 +473,84 @@ public class ItemController {
                         .build()
         );
     }
+
+    // The bulk endpoints never fail the whole request because of a single item, every item gets its own result instead
+    @PostMapping("/bulk")
+    public ResponseEntity<HttpResponse> createItems(@RequestBody List<ItemRequest> requests) {
+        log.info("[ItemController] Saving {} items in bulk", requests.size());
+
+        ItemBulkResponse result = itemBulkService.saveAll(requests);
+
+        return ResponseEntity.ok(
+                HttpResponse
+                        .builder()
+                        .timestamp(LocalDateTime.now().toString())
+                        .responseMessage("The bulk save request has been handled successfully")
+                        .responseStatus(HttpStatus.OK)
+                        .responseStatusCode(HttpStatus.OK.value())
+                        .body(result)
+                        .build()
+        );
+    }
+
+    @PutMapping("/bulk")
+    public ResponseEntity<HttpResponse> updateItems(@RequestBody List<ItemUpdateRequest> requests) {
+        log.info("[ItemController] Updating {} items in bulk", requests.size());
+
+        ItemBulkResponse result = itemBulkService.updateAll(requests);
+
+        return ResponseEntity.ok(
+                HttpResponse
+                        .builder()
+                        .timestamp(LocalDateTime.now().toString())
+                        .responseMessage("The bulk update request has been handled successfully")
+                        .responseStatus(HttpStatus.OK)
+                        .responseStatusCode(HttpStatus.OK.value())
+                        .body(result)
+                        .build()
+        );
+    }
+
+    @DeleteMapping("/bulk")
+    public ResponseEntity<HttpResponse> deleteItems(@RequestBody List<Long> ids) {
+        log.info("[ItemController] Deleting {} items in bulk", ids.size());
+
+        ItemBulkResponse result = itemBulkService.deleteAllById(ids);
+
+        return ResponseEntity.ok(
+                HttpResponse
+                        .builder()
+                        .timestamp(LocalDateTime.now().toString())
+                        .responseMessage("The bulk delete request has been handled successfully")
+                        .responseStatus(HttpStatus.OK)
+                        .responseStatusCode(HttpStatus.OK.value())
+                        .body(result)
+                        .build()
+        );
+    }
+
+    // The upload is parsed as it arrives (one record per line), valid rows are written in batches and every rejected row is reported with its line
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public ResponseEntity<HttpResponse> importItems(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                    @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+                                                    InputStream body) throws IOException {
+        log.info("[ItemController] Importing items from an upload of type \"{}\"", contentType);
+
+        ItemImportFormat format = MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType) ? ItemImportFormat.NDJSON : ItemImportFormat.CSV;
+
+        try (InputStream inputStream = "gzip".equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(body, 64 * 1024) : body) {
+            ItemImportReport result = itemImportService.importAll(inputStream, format);
+
+            return ResponseEntity.ok(
+                    HttpResponse
+                            .builder()
+                            .timestamp(LocalDateTime.now().toString())
+                            .responseMessage("The items have been imported successfully")
+                            .responseStatus(HttpStatus.OK)
+                            .responseStatusCode(HttpStatus.OK.value())
+                            .body(result)
+                            .build()
+            );
+        }
+    }
 }
@@ -0,0 +1,72 @@
+package com.siemens.internship.controller;
+
+import com.siemens.internship.exception.PreconditionFailedException;
+import com.siemens.internship.response.ItemResponse;
+import com.siemens.internship.response.ItemSliceResponse;
+import com.siemens.internship.response.ItemStatusCountsResponse;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+import java.util.Objects;
+
+// The ETags are built from the id and version columns only, so they can be compared before any response body is built
+final class ItemETags {
+    private ItemETags() {
+    }
+
+    // Strong: the version changes with every update of the item
+    static String of(ItemResponse item) {
+        return "\"" + item.id() + "-" + item.version() + "\"";
+    }
+
+    // Weak: a page has no version of its own, its ETag is a hash of the versions of its items and of the page itself
+    static String of(Page<ItemResponse> page) {
+        return weak(Objects.hash(page.getNumber(), page.getSize(), page.getSort(), page.getTotalElements()), page.getContent());
+    }
+
+    static String of(ItemSliceResponse slice) {
+        return weak(Objects.hash(slice.size(), slice.hasNext()), slice.content());
+    }
+
+    // The counts themselves are all there is to compare
+    static String of(ItemStatusCountsResponse statusCounts) {
+        return weak(statusCounts.counts().hashCode(), List.of());
+    }
+
+    // Returns the version the If-Match header asks for, or null for "*" (any version)
+    // If-Match uses the strong comparison, so a weak ETag (or the ETag of another item) never matches
+    static Long parseVersion(Long id, String ifMatch) {
+        String prefix = "\"" + id + "-";
+
+        for (String eTag : ifMatch.split(",")) {
+            eTag = eTag.trim();
+
+            if (eTag.equals("*")) {
+                return null;
+            }
+
+            if (eTag.startsWith(prefix) && eTag.endsWith("\"") && eTag.length() > prefix.length() + 1) {
+                try {
+                    return Long.parseLong(eTag.substring(prefix.length(), eTag.length() - 1));
+                }
+
+                catch (NumberFormatException e) {
+                    // Not one of ours, it can't match
+                }
+            }
+        }
+
+        throw new PreconditionFailedException(String.format("The If-Match header doesn't match the item by the provided id (%d)", id));
+    }
+
+    private static String weak(long seed, List<ItemResponse> items) {
+        long hash = seed;
+
+        for (ItemResponse item : items) {
+            hash = 31 * hash + item.id();
+            hash = 31 * hash + Objects.hashCode(item.version());
+        }
+
+        return "W/\"" + Long.toHexString(hash) + "\"";
+    }
+}
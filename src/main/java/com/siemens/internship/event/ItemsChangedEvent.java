@@ -0,0 +1,15 @@
+package com.siemens.internship.event;
+
+import java.util.List;
+
+// Published whenever items are created, updated or deleted, listeners react once the transaction has committed
+// The names are the ones the changed items were written with, so the name filter doesn't have to read them back
+// (none for a delete, nor for a write that only changed statuses)
+public record ItemsChangedEvent(
+        List<Long> itemIds,
+        List<String> names
+) {
+    public ItemsChangedEvent(List<Long> itemIds) {
+        this(itemIds, List.of());
+    }
+}
@@ -1,16 +1,22 @@
 package com.siemens.internship.exception;
 
+import com.siemens.internship.configuration.AdmissionControlProperties;
 import com.siemens.internship.response.ErrorResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -18,6 +24,8 @@ import java.util.Map;
 @ControllerAdvice
 @RequiredArgsConstructor
 public class GlobalExceptionHandler {
+    private final AdmissionControlProperties admissionControlProperties;
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleMethodArgumentNotValidException(MethodArgumentNotValidException ex) {
         Map<String, String> validationErrors = new LinkedHashMap<>();
@@ -62,6 +70,35 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, response.getErrorStatus());
     }
 
+    // e.g. a search without its query, a client error rather than an internal server error
+    @ExceptionHandler(MissingServletRequestParameterException.class)
+    public ResponseEntity<ErrorResponse> handleMissingServletRequestParameterException(MissingServletRequestParameterException exception, WebRequest request) {
+        ErrorResponse response = ErrorResponse
+                .builder()
+                .timestamp(LocalDateTime.now().toString())
+                .errorMessage(exception.getMessage())
+                .errorStatus(HttpStatus.BAD_REQUEST)
+                .errorCode(HttpStatus.BAD_REQUEST.value())
+                .requestPath(request.getDescription(false))
+                .build();
+
+        return new ResponseEntity<>(response, response.getErrorStatus());
+    }
+
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ErrorResponse> handleBadRequestException(BadRequestException exception, WebRequest request) {
+        ErrorResponse response = ErrorResponse
+                .builder()
+                .timestamp(LocalDateTime.now().toString())
+                .errorMessage(exception.getMessage())
+                .errorStatus(HttpStatus.BAD_REQUEST)
+                .errorCode(HttpStatus.BAD_REQUEST.value())
+                .requestPath(request.getDescription(false))
+                .build();
+
+        return new ResponseEntity<>(response, response.getErrorStatus());
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleResourceNotFoundException(ResourceNotFoundException exception, WebRequest request) {
         ErrorResponse response = ErrorResponse
@@ -90,6 +127,46 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, response.getErrorStatus());
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailedException(PreconditionFailedException exception, WebRequest request) {
+        ErrorResponse response = ErrorResponse
+                .builder()
+                .timestamp(LocalDateTime.now().toString())
+                .errorMessage(exception.getMessage())
+                .errorStatus(HttpStatus.PRECONDITION_FAILED)
+                .errorCode(HttpStatus.PRECONDITION_FAILED.value())
+                .requestPath(request.getDescription(false))
+                .build();
+
+        return new ResponseEntity<>(response, response.getErrorStatus());
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailableException(ServiceUnavailableException exception, WebRequest request) {
+        return serviceUnavailable(exception.getMessage(), exception.getRetryAfter(), request);
+    }
+
+    // An @Async call the executor had no thread for, the same as a request turned away by the admission control
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleTaskRejectedException(WebRequest request) {
+        return serviceUnavailable("The server is handling too many requests, please try again later", admissionControlProperties.getRetryAfter(), request);
+    }
+
+    // The import only accepts NDJSON and CSV uploads, anything else shouldn't end up as an internal server error
+    @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
+    public ResponseEntity<ErrorResponse> handleHttpMediaTypeNotSupportedException(HttpMediaTypeNotSupportedException exception, WebRequest request) {
+        ErrorResponse response = ErrorResponse
+                .builder()
+                .timestamp(LocalDateTime.now().toString())
+                .errorMessage(exception.getMessage())
+                .errorStatus(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+                .errorCode(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value())
+                .requestPath(request.getDescription(false))
+                .build();
+
+        return new ResponseEntity<>(response, response.getErrorStatus());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleException(Exception exception, WebRequest request) {
         ErrorResponse response = ErrorResponse
@@ -103,4 +180,23 @@ public class GlobalExceptionHandler {
 
         return new ResponseEntity<>(response, response.getErrorStatus());
     }
+
+    private ResponseEntity<ErrorResponse> serviceUnavailable(String message, Duration retryAfter, WebRequest request) {
+        ErrorResponse response = ErrorResponse
+                .builder()
+                .timestamp(LocalDateTime.now().toString())
+                .errorMessage(message)
+                .errorStatus(HttpStatus.SERVICE_UNAVAILABLE)
+                .errorCode(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .requestPath(request.getDescription(false))
+                .build();
+
+        // Whole seconds, at least one
+        long retryAfterSeconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+
+        return ResponseEntity
+                .status(response.getErrorStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(response);
+    }
 }
@@ -0,0 +1,16 @@
+package com.siemens.internship.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+// The request was turned away before doing any work, the client may try again after the given delay
+@Getter
+public class ServiceUnavailableException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public ServiceUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
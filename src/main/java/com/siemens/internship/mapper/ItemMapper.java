@@ -12,7 +12,8 @@ public class ItemMapper {
             item.getName(),
             item.getDescription(),
             item.getStatus(),
-            item.getEmail()
+            item.getEmail(),
+            item.getVersion()
         );
     }
 
@@ -24,6 +25,7 @@ public class ItemMapper {
                 .description(itemResponse.description())
                 .status(itemResponse.status())
                 .email(itemResponse.email())
+                .version(itemResponse.version())
                 .build();
     }
 }
@@ -0,0 +1,42 @@
+package com.siemens.internship.mapper;
+
+import com.siemens.internship.model.ProcessingJob;
+import com.siemens.internship.model.ProcessingJobResult;
+import com.siemens.internship.response.ProcessingJobResponse;
+import com.siemens.internship.response.ProcessingJobResultResponse;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Service
+public class ProcessingJobMapper {
+    public ProcessingJobResponse toProcessingJobResponse(ProcessingJob processingJob) {
+        long handledItems = processingJob.getProcessedItems() + processingJob.getFailedItems();
+
+        // A finished job keeps reporting the rate it ended with
+        LocalDateTime end = processingJob.getFinishedAt() != null ? processingJob.getFinishedAt() : LocalDateTime.now();
+        long elapsedMillis = Math.max(Duration.between(processingJob.getCreatedAt(), end).toMillis(), 1);
+
+        return new ProcessingJobResponse(
+                processingJob.getId(),
+                processingJob.getStatus(),
+                processingJob.getChunkSize(),
+                processingJob.getTotalItems(),
+                processingJob.getProcessedItems(),
+                processingJob.getFailedItems(),
+                Math.max(processingJob.getTotalItems() - handledItems, 0),
+                handledItems * 1000.0 / elapsedMillis,
+                processingJob.getFailureReason(),
+                processingJob.getCreatedAt().toString(),
+                processingJob.getFinishedAt() != null ? processingJob.getFinishedAt().toString() : null
+        );
+    }
+
+    public ProcessingJobResultResponse toProcessingJobResultResponse(ProcessingJobResult processingJobResult) {
+        return new ProcessingJobResultResponse(
+                processingJobResult.getItemId(),
+                processingJobResult.getOutcome()
+        );
+    }
+}
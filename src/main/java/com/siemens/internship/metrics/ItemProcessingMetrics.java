@@ -0,0 +1,44 @@
+package com.siemens.internship.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+// One timer per outcome: its count gives the processed and failed items (and their rate the items/s),
+// its histogram the per-item latency
+@Component
+public class ItemProcessingMetrics {
+    private final Timer processedItems;
+    private final Timer failedItems;
+
+    public ItemProcessingMetrics(MeterRegistry meterRegistry) {
+        this.processedItems = Timer.builder("item.processing")
+                .description("The time it takes to process a single item")
+                .tag("outcome", "processed")
+                .register(meterRegistry);
+
+        this.failedItems = Timer.builder("item.processing")
+                .description("The time it takes to process a single item")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+    }
+
+    public void record(long startTime, boolean processed) {
+        (processed ? processedItems : failedItems).record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+    }
+
+    // A set-based chunk processes all of its items with one statement, every item is recorded with its share of the time
+    public void record(long startTime, int processedItemCount) {
+        if (processedItemCount == 0) {
+            return;
+        }
+
+        long share = (System.nanoTime() - startTime) / processedItemCount;
+
+        for (int i = 0; i < processedItemCount; i++) {
+            processedItems.record(share, TimeUnit.NANOSECONDS);
+        }
+    }
+}
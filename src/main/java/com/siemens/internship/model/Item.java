@@ -4,23 +4,54 @@ import jakarta.persistence.*;
 
 import lombok.*;
 
+import java.util.Locale;
+
 @Entity
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
-@Table(name = "items")
+@Table(
+        name = "items",
+        uniqueConstraints = @UniqueConstraint(name = Item.NORMALIZED_NAME_CONSTRAINT, columnNames = "normalized_name"),
+        // The listing by status seeks to the status and walks its ids in order, without touching the other rows
+        indexes = @Index(name = "idx_items_status_id", columnList = "status, id")
+)
 public class Item {
+    public static final String NORMALIZED_NAME_CONSTRAINT = "uk_items_normalized_name";
+
+    // A pooled sequence (instead of an identity column) lets Hibernate assign ids
+    // without a round trip per row, which is what allows inserts to be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_sequence")
+    @SequenceGenerator(name = "items_sequence", sequenceName = "items_sequence", allocationSize = 50)
     private Long id;
 
     private String name;
 
+    // The lower-cased name, its unique index is what keeps two items from having the same name
+    @Column(name = "normalized_name", nullable = false)
+    private String normalizedName;
+
     private String description;
 
     private String status;
 
     private String email;
-}
\ No newline at end of file
+
+    // Bumped by Hibernate on every update, it is what the ETags are built from
+    // and a write based on an older version fails instead of overwriting the newer one
+    @Version
+    private Long version;
+
+    public static String normalizeName(String name) {
+        return name == null ? null : name.toLowerCase(Locale.ROOT);
+    }
+
+    @PrePersist
+    @PreUpdate
+    private void updateNormalizedName() {
+        normalizedName = normalizeName(name);
+    }
+}
@@ -0,0 +1,10 @@
+package com.siemens.internship.model;
+
+public enum ItemBulkOutcome {
+    CREATED,
+    UPDATED,
+    DELETED,
+    CONFLICT,
+    INVALID,
+    NOT_FOUND
+}
@@ -0,0 +1,41 @@
+package com.siemens.internship.model;
+
+import jakarta.persistence.*;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "processing_jobs")
+public class ProcessingJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "processing_jobs_sequence")
+    @SequenceGenerator(name = "processing_jobs_sequence", sequenceName = "processing_jobs_sequence", allocationSize = 1)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private ProcessingJobStatus status;
+
+    private Integer chunkSize;
+
+    private Long totalItems;
+
+    private Long processedItems;
+
+    private Long failedItems;
+
+    // The id of the last item handled by the job, the next chunk starts right after it
+    private Long lastItemId;
+
+    private String failureReason;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime finishedAt;
+}
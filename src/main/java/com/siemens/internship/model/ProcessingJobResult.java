@@ -0,0 +1,29 @@
+package com.siemens.internship.model;
+
+import jakarta.persistence.*;
+
+import lombok.*;
+
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(
+        name = "processing_job_results",
+        indexes = @Index(name = "idx_processing_job_results_job_id", columnList = "jobId, id")
+)
+public class ProcessingJobResult {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "processing_job_results_sequence")
+    @SequenceGenerator(name = "processing_job_results_sequence", sequenceName = "processing_job_results_sequence", allocationSize = 50)
+    private Long id;
+
+    private Long jobId;
+
+    private Long itemId;
+
+    @Enumerated(EnumType.STRING)
+    private ProcessingJobResultOutcome outcome;
+}
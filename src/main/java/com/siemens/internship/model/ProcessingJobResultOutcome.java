@@ -0,0 +1,6 @@
+package com.siemens.internship.model;
+
+public enum ProcessingJobResultOutcome {
+    PROCESSED,
+    FAILED
+}
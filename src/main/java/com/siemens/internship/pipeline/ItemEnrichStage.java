@@ -0,0 +1,23 @@
+package com.siemens.internship.pipeline;
+
+import com.siemens.internship.model.Item;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+// Stands in for fetching whatever the processing needs about the item from elsewhere
+@Component
+@Order(100)
+public class ItemEnrichStage implements ItemProcessingStage {
+    @Override
+    public String getName() {
+        return "enrich";
+    }
+
+    @Override
+    public void process(Item item) throws InterruptedException {
+        // Simulate a processing delay
+        TimeUnit.MILLISECONDS.sleep(100);
+    }
+}
@@ -0,0 +1,340 @@
+package com.siemens.internship.pipeline;
+
+import com.siemens.internship.configuration.AsynchronousProperties;
+import com.siemens.internship.configuration.ItemProcessingProperties;
+import com.siemens.internship.event.ItemsChangedEvent;
+import com.siemens.internship.metrics.ItemProcessingMetrics;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.service.implementation.ItemBulkWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs the items through the stages (in their @Order) and then through the persist stage, which writes them in batches
+// Every stage has its own workers and a bounded queue in front of it: a slow stage fills its queue and the stage
+// before it blocks, so at most the capacity of the queues (and not all the items) is in flight at once
+// An item that fails a stage is dropped (and counted), the other items go on
+@Component
+@Slf4j
+public class ItemProcessingPipeline {
+    static final String PERSIST_STAGE = "persist";
+
+    // Put behind the last item, every worker of a stage passes it on to the next one before it stops
+    private static final Envelope END = new Envelope(null, 0, 0);
+
+    private final List<ItemProcessingStage> stages;
+    private final ItemBulkWriter itemBulkWriter;
+    private final ItemProcessingProperties itemProcessingProperties;
+    private final AsynchronousProperties asynchronousProperties;
+    private final ItemProcessingMetrics itemProcessingMetrics;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    // By stage, the processed and the failed outcome
+    private final Map<String, Timer[]> stageTimers = new HashMap<>();
+    private final Map<String, Timer> queueWaitTimers = new HashMap<>();
+
+    public ItemProcessingPipeline(List<ItemProcessingStage> stages,
+                                  ItemBulkWriter itemBulkWriter,
+                                  ItemProcessingProperties itemProcessingProperties,
+                                  AsynchronousProperties asynchronousProperties,
+                                  ItemProcessingMetrics itemProcessingMetrics,
+                                  ApplicationEventPublisher applicationEventPublisher,
+                                  MeterRegistry meterRegistry) {
+        this.stages = List.copyOf(stages);
+        this.itemBulkWriter = itemBulkWriter;
+        this.itemProcessingProperties = itemProcessingProperties;
+        this.asynchronousProperties = asynchronousProperties;
+        this.itemProcessingMetrics = itemProcessingMetrics;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.meterRegistry = meterRegistry;
+
+        for (ItemProcessingStage stage : this.stages) {
+            register(stage.getName());
+        }
+
+        register(PERSIST_STAGE);
+
+        log.info("[ItemProcessingPipeline] Processing the items through the stages {}",
+                this.stages.stream().map(ItemProcessingStage::getName).toList());
+    }
+
+    // Returns the written items (as written, so with their new version) in the order of their ids
+    public List<Item> process(List<Item> items) {
+        int stageCount = stages.size();
+
+        // The queue in front of every stage, the last one is the queue of the persist stage
+        List<BlockingQueue<Envelope>> queues = new ArrayList<>(stageCount + 1);
+
+        for (ItemProcessingStage stage : stages) {
+            queues.add(new ArrayBlockingQueue<>(itemProcessingProperties.getPipeline().getStage(stage.getName()).getQueueCapacity()));
+        }
+
+        queues.add(new ArrayBlockingQueue<>(itemProcessingProperties.getPipeline().getStage(PERSIST_STAGE).getQueueCapacity()));
+
+        List<Item> writtenItems = Collections.synchronizedList(new ArrayList<>(items.size()));
+        List<Thread> workers = new ArrayList<>();
+
+        for (int i = 0; i < stageCount; i++) {
+            ItemProcessingStage stage = stages.get(i);
+            BlockingQueue<Envelope> input = queues.get(i);
+            BlockingQueue<Envelope> output = queues.get(i + 1);
+
+            workers.addAll(start(stage.getName(), input, output, () -> runStage(stage, input, output)));
+        }
+
+        BlockingQueue<Envelope> persistInput = queues.get(stageCount);
+        workers.addAll(start(PERSIST_STAGE, persistInput, null, () -> runPersist(persistInput, writtenItems)));
+
+        try {
+            // Blocks while the first stage is busy, the items are only handed out as fast as the stages take them
+            for (Item item : items) {
+                long now = System.nanoTime();
+                queues.get(0).put(new Envelope(item, now, now));
+            }
+
+            queues.get(0).put(END);
+
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        }
+
+        catch (InterruptedException e) {
+            log.error("[ItemProcessingPipeline] Interrupted while processing {} items, stopping the stages", items.size());
+            workers.forEach(Thread::interrupt);
+            Thread.currentThread().interrupt(); // Preserve thread interrupt status
+            throw new IllegalStateException("Interrupted while processing the items", e);
+        }
+
+        List<Item> result = new ArrayList<>(writtenItems);
+        result.sort(Comparator.comparing(Item::getId));
+
+        return result;
+    }
+
+    // Returns once it has taken the end
+    private void runStage(ItemProcessingStage stage, BlockingQueue<Envelope> input, BlockingQueue<Envelope> output) throws InterruptedException {
+        Timer queueWait = queueWaitTimers.get(stage.getName());
+
+        while (true) {
+            Envelope envelope = input.take();
+
+            if (envelope == END) {
+                return;
+            }
+
+            queueWait.record(System.nanoTime() - envelope.enqueuedAt(), TimeUnit.NANOSECONDS);
+
+            if (runStage(stage, envelope.item())) {
+                output.put(new Envelope(envelope.item(), envelope.startTime(), System.nanoTime()));
+            }
+
+            else {
+                itemProcessingMetrics.record(envelope.startTime(), false);
+            }
+        }
+    }
+
+    // Returns once it has taken the end
+    private void runPersist(BlockingQueue<Envelope> input, List<Item> writtenItems) throws InterruptedException {
+        Timer queueWait = queueWaitTimers.get(PERSIST_STAGE);
+        int batchSize = Math.max(1, itemProcessingProperties.getPipeline().getBatchSize());
+        List<Envelope> batch = new ArrayList<>(batchSize);
+
+        while (true) {
+            // Waits for the first item of the batch, then takes whatever else is already there
+            batch.add(input.take());
+            input.drainTo(batch, batchSize - 1);
+
+            boolean end = batch.remove(END);
+            long now = System.nanoTime();
+
+            for (Envelope envelope : batch) {
+                queueWait.record(now - envelope.enqueuedAt(), TimeUnit.NANOSECONDS);
+            }
+
+            writtenItems.addAll(write(batch));
+            batch.clear();
+
+            if (end) {
+                return;
+            }
+        }
+    }
+
+    // Returns the written items, a batch that can't be written fails all of its items
+    // Not only the DAO exceptions: a connection that can't be opened fails the start of the transaction
+    // (CannotCreateTransactionException) and a failed commit fails its end (TransactionSystemException)
+    private List<Item> write(List<Envelope> batch) {
+        if (batch.isEmpty()) {
+            return List.of();
+        }
+
+        long startTime = System.nanoTime();
+        Timer[] timers = stageTimers.get(PERSIST_STAGE);
+        List<Item> writtenItems;
+
+        try {
+            writtenItems = itemBulkWriter.writeAll(batch.stream().map(Envelope::item).toList());
+            timers[0].record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+
+        catch (RuntimeException e) {
+            log.error("[ItemProcessingPipeline] A batch of {} processed items couldn't be written | {}", batch.size(), e.getMessage());
+            timers[1].record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            batch.forEach(envelope -> itemProcessingMetrics.record(envelope.startTime(), false));
+            return List.of();
+        }
+
+        Set<Long> writtenIds = new HashSet<>();
+        writtenItems.forEach(item -> writtenIds.add(item.getId()));
+
+        for (Envelope envelope : batch) {
+            boolean written = writtenIds.contains(envelope.item().getId());
+
+            if (!written) {
+                log.warn("[ItemProcessingPipeline] The item with id \"{}\" was changed or deleted while being processed, it wasn't written",
+                        envelope.item().getId());
+            }
+
+            itemProcessingMetrics.record(envelope.startTime(), written);
+        }
+
+        if (!writtenIds.isEmpty()) {
+            applicationEventPublisher.publishEvent(new ItemsChangedEvent(writtenItems.stream().map(Item::getId).toList(),
+                    writtenItems.stream().map(Item::getName).toList()));
+        }
+
+        return writtenItems;
+    }
+
+    private boolean runStage(ItemProcessingStage stage, Item item) {
+        long startTime = System.nanoTime();
+        Timer[] timers = stageTimers.get(stage.getName());
+
+        try {
+            stage.process(item);
+            timers[0].record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            return true;
+        }
+
+        catch (InterruptedException e) {
+            log.error("[ItemProcessingPipeline] Interrupted while processing the item with id \"{}\" in the {} stage", item.getId(), stage.getName());
+            Thread.currentThread().interrupt(); // Preserve thread interrupt status
+            timers[1].record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            return false;
+        }
+
+        catch (Exception e) {
+            log.error("[ItemProcessingPipeline] The item with id \"{}\" failed the {} stage | {}", item.getId(), stage.getName(), e.getMessage());
+            timers[1].record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            return false;
+        }
+    }
+
+    // A worker that failed (so it hasn't taken the end) fails the rest of the items of its queue first,
+    // otherwise the stages before it would block on the full queue for good
+    // Then the last worker of a stage to stop passes the end on, the others put it back for their siblings
+    // (there is room for it, the worker has just taken it and nothing comes after it)
+    private void finish(String stageName, BlockingQueue<Envelope> input, BlockingQueue<Envelope> output, AtomicInteger remainingWorkers,
+                        boolean endTaken) throws InterruptedException {
+        if (!endTaken) {
+            for (Envelope envelope = input.take(); envelope != END; envelope = input.take()) {
+                itemProcessingMetrics.record(envelope.startTime(), false);
+            }
+
+            log.error("[ItemProcessingPipeline] Failed the remaining items of a failed worker of the {} stage", stageName);
+        }
+
+        if (remainingWorkers.decrementAndGet() > 0) {
+            input.put(END);
+        }
+
+        else if (output != null) {
+            output.put(END);
+        }
+    }
+
+    private List<Thread> start(String stageName, BlockingQueue<Envelope> input, BlockingQueue<Envelope> output, StageWorker worker) {
+        int parallelism = Math.max(1, itemProcessingProperties.getPipeline().getStage(stageName).getParallelism());
+        AtomicInteger remainingWorkers = new AtomicInteger(parallelism);
+
+        Thread.Builder threadBuilder = asynchronousProperties.getMode() == AsynchronousProperties.ExecutionMode.VIRTUAL
+                ? Thread.ofVirtual().name("ItemPipeline-" + stageName + "-", 0)
+                : Thread.ofPlatform().name("ItemPipeline-" + stageName + "-", 0);
+
+        List<Thread> threads = new ArrayList<>(parallelism);
+
+        for (int i = 0; i < parallelism; i++) {
+            threads.add(threadBuilder.start(() -> {
+                boolean endTaken = false;
+
+                try {
+                    worker.run();
+                    endTaken = true;
+                }
+
+                catch (InterruptedException e) {
+                    // Only the interrupted processing stops the workers, there is nobody left to hand the items to
+                    Thread.currentThread().interrupt();
+                }
+
+                catch (RuntimeException e) {
+                    log.error("[ItemProcessingPipeline] A worker of the {} stage failed | {}", stageName, e.getMessage());
+                }
+
+                finally {
+                    if (!Thread.currentThread().isInterrupted()) {
+                        try {
+                            finish(stageName, input, output, remainingWorkers, endTaken);
+                        }
+
+                        catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                }
+            }));
+        }
+
+        return threads;
+    }
+
+    private void register(String stageName) {
+        stageTimers.put(stageName, new Timer[] {
+                Timer.builder("item.pipeline.stage")
+                        .description("The time an item spends in a stage (a batch of items for the persist stage)")
+                        .tag("stage", stageName)
+                        .tag("outcome", "processed")
+                        .register(meterRegistry),
+                Timer.builder("item.pipeline.stage")
+                        .description("The time an item spends in a stage (a batch of items for the persist stage)")
+                        .tag("stage", stageName)
+                        .tag("outcome", "failed")
+                        .register(meterRegistry)
+        });
+
+        queueWaitTimers.put(stageName, Timer.builder("item.pipeline.queue.wait")
+                .description("The time an item waits in the queue in front of a stage")
+                .tag("stage", stageName)
+                .register(meterRegistry));
+    }
+
+    @FunctionalInterface
+    private interface StageWorker {
+        void run() throws InterruptedException;
+    }
+
+    // An item on its way through the stages, with when its processing started and when it was put in its current queue
+    private record Envelope(Item item, long startTime, long enqueuedAt) {
+    }
+}
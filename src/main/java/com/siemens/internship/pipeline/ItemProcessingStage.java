@@ -0,0 +1,13 @@
+package com.siemens.internship.pipeline;
+
+import com.siemens.internship.model.Item;
+
+// One step of the processing of an item, every stage is a bean and the stages run in their @Order
+// A stage changes the item in place (or throws to fail it) and never writes it, the writes are batched after the last stage
+// A stage runs on several threads at once (see the parallelism of the stage), so it must not keep per-item state
+public interface ItemProcessingStage {
+    // Used for the metrics and to look up the parallelism and the queue capacity of the stage
+    String getName();
+
+    void process(Item item) throws Exception;
+}
@@ -0,0 +1,19 @@
+package com.siemens.internship.pipeline;
+
+import com.siemens.internship.model.Item;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+@Component
+@Order(200)
+public class ItemTransformStage implements ItemProcessingStage {
+    @Override
+    public String getName() {
+        return "transform";
+    }
+
+    @Override
+    public void process(Item item) {
+        item.setStatus("PROCESSED");
+    }
+}
@@ -0,0 +1,38 @@
+package com.siemens.internship.pipeline;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.request.ItemRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// The processed item has to be one the API would accept, otherwise it isn't written
+@Component
+@Order(300)
+@RequiredArgsConstructor
+public class ItemValidateStage implements ItemProcessingStage {
+    private final Validator validator;
+
+    @Override
+    public String getName() {
+        return "validate";
+    }
+
+    @Override
+    public void process(Item item) {
+        Set<ConstraintViolation<ItemRequest>> violations = validator.validate(
+                new ItemRequest(item.getName(), item.getDescription(), item.getStatus(), item.getEmail()));
+
+        if (!violations.isEmpty()) {
+            throw new IllegalStateException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+    }
+}
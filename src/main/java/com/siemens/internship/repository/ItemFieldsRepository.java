@@ -0,0 +1,21 @@
+package com.siemens.internship.repository;
+
+import com.siemens.internship.request.ItemField;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+// The reads of ItemRepository with only some of the columns, every item comes back as a map from the field name to its value
+// (in the order of ItemField), the columns that weren't asked for aren't selected at all
+public interface ItemFieldsRepository {
+    Optional<Map<String, Object>> findFieldsById(Long id, Set<ItemField> fields);
+
+    Page<Map<String, Object>> findAllFields(Set<ItemField> fields, Pageable pageable);
+
+    List<Map<String, Object>> findFieldsByIdGreaterThan(Long id, Set<ItemField> fields, Limit limit);
+}
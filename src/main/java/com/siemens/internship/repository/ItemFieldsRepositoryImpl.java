@@ -0,0 +1,109 @@
+package com.siemens.internship.repository;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.request.ItemField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.*;
+
+// The select list is only known per request, so the queries are built with the Criteria API instead of being declared
+// Tuples instead of entities: nothing is managed, like the ItemResponse queries of ItemRepository
+@RequiredArgsConstructor
+public class ItemFieldsRepositoryImpl implements ItemFieldsRepository {
+    private final EntityManager entityManager;
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(Long id, Set<ItemField> fields) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Item> item = select(query, fields);
+
+        query.where(criteriaBuilder.equal(item.get("id"), id));
+
+        return entityManager.createQuery(query).getResultStream().findFirst().map(tuple -> toMap(tuple, fields));
+    }
+
+    @Override
+    public Page<Map<String, Object>> findAllFields(Set<ItemField> fields, Pageable pageable) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Item> item = select(query, fields);
+
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), item, criteriaBuilder));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+
+        List<Map<String, Object>> content = typedQuery.getResultList().stream().map(tuple -> toMap(tuple, fields)).toList();
+
+        // The count only runs when the page alone can't tell the total (e.g. not for a last page that isn't full)
+        return PageableExecutionUtils.getPage(content, pageable, this::count);
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsByIdGreaterThan(Long id, Set<ItemField> fields, Limit limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Item> item = select(query, fields);
+
+        query.where(criteriaBuilder.greaterThan(item.get("id"), id));
+        query.orderBy(criteriaBuilder.asc(item.get("id")));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+
+        if (limit.isLimited()) {
+            typedQuery.setMaxResults(limit.max());
+        }
+
+        return typedQuery.getResultList().stream().map(tuple -> toMap(tuple, fields)).toList();
+    }
+
+    private Root<Item> select(CriteriaQuery<Tuple> query, Set<ItemField> fields) {
+        Root<Item> item = query.from(Item.class);
+
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+
+        for (ItemField field : fields) {
+            selections.add(item.get(field.getName()).alias(field.getName()));
+        }
+
+        query.multiselect(selections);
+
+        return item;
+    }
+
+    private long count() {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+
+        query.select(criteriaBuilder.count(query.from(Item.class)));
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static Map<String, Object> toMap(Tuple tuple, Set<ItemField> fields) {
+        Map<String, Object> values = new LinkedHashMap<>();
+
+        for (ItemField field : fields) {
+            values.put(field.getName(), tuple.get(field.getName()));
+        }
+
+        return values;
+    }
+}
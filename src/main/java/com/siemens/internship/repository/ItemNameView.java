@@ -0,0 +1,8 @@
+package com.siemens.internship.repository;
+
+// Only the columns the name filter needs, the id to page through the items by
+public record ItemNameView(
+        Long id,
+        String normalizedName
+) {
+}
@@ -1,10 +1,112 @@
 package com.siemens.internship.repository;
 
 import com.siemens.internship.model.Item;
+import com.siemens.internship.response.ItemResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
-    Optional<Item> findByNameIgnoreCase(String name);
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemFieldsRepository {
+    // Keyset read: seeks straight past the last seen id instead of counting and skipping rows
+    List<Item> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Set-based checks for the bulk writes, one query for a whole chunk instead of one per item
+    List<Item> findByNormalizedNameIn(Collection<String> normalizedNames);
+
+    @Query("select i.id from Item i where i.id in :ids")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // The set-based processing only needs the ids of a chunk, they come straight from the primary key index
+    @Query("select i.id from Item i where i.id > :id order by i.id")
+    List<Long> findIdsByIdGreaterThan(@Param("id") Long id, Limit limit);
+
+    // One statement for a whole id range, the version is bumped by hand since Hibernate never sees these rows
+    // (and only for the rows that actually change, like the dirty checking does for the per-item processing)
+    @Modifying
+    @Query("""
+            update Item i
+            set i.status = :status, i.version = i.version + 1
+            where i.id > :afterId and i.id <= :lastId and (i.status is null or i.status <> :status)
+            """)
+    int updateStatusByIdRange(@Param("afterId") Long afterId, @Param("lastId") Long lastId, @Param("status") String status);
+
+    // The read queries below select straight into the response record, so no entity
+    // is ever managed (no persistence context snapshot, no dirty checking) for data that is only serialized
+    @Query("""
+            select new com.siemens.internship.response.ItemResponse(i.id, i.name, i.description, i.status, i.email, i.version)
+            from Item i
+            where i.id = :id
+            """)
+    Optional<ItemResponse> findResponseById(@Param("id") Long id);
+
+    @Query("""
+            select new com.siemens.internship.response.ItemResponse(i.id, i.name, i.description, i.status, i.email, i.version)
+            from Item i
+            where i.id in :ids
+            """)
+    List<ItemResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(
+            value = """
+                    select new com.siemens.internship.response.ItemResponse(i.id, i.name, i.description, i.status, i.email, i.version)
+                    from Item i
+                    """,
+            countQuery = "select count(i) from Item i"
+    )
+    Page<ItemResponse> findAllResponses(Pageable pageable);
+
+    @Query("""
+            select new com.siemens.internship.response.ItemResponse(i.id, i.name, i.description, i.status, i.email, i.version)
+            from Item i
+            where i.id > :id
+            order by i.id
+            """)
+    List<ItemResponse> findResponsesByIdGreaterThan(@Param("id") Long id, Limit limit);
+
+    // Keyset read over the (status, id) index
+    @Query("""
+            select new com.siemens.internship.response.ItemResponse(i.id, i.name, i.description, i.status, i.email, i.version)
+            from Item i
+            where i.status = :status and i.id > :id
+            order by i.id
+            """)
+    List<ItemResponse> findResponsesByStatusAndIdGreaterThan(@Param("status") String status, @Param("id") Long id, Limit limit);
+
+    @Query("select new com.siemens.internship.repository.ItemStatusView(i.id, i.status) from Item i where i.id in :ids")
+    List<ItemStatusView> findStatusesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Keyset pages rather than a stream, so the name filter can be rebuilt without holding a transaction open
+    @Query("""
+            select new com.siemens.internship.repository.ItemNameView(i.id, i.normalizedName)
+            from Item i
+            where i.id > :id
+            order by i.id
+            """)
+    List<ItemNameView> findNamesByIdGreaterThan(@Param("id") Long id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.siemens.internship.repository.ItemStatusView(i.id, i.status) from Item i")
+    Stream<ItemStatusView> streamAllStatuses();
+
+    // Rows are pulled from the open result set while the stream is consumed, a fetch size at a time,
+    // so the caller has to consume (and close) it inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new com.siemens.internship.response.ItemResponse(i.id, i.name, i.description, i.status, i.email, i.version)
+            from Item i
+            order by i.id
+            """)
+    Stream<ItemResponse> streamAllResponses();
 }
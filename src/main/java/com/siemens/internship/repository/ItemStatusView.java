@@ -0,0 +1,8 @@
+package com.siemens.internship.repository;
+
+// Only the columns the status histogram needs, both come straight from the (status, id) index
+public record ItemStatusView(
+        Long id,
+        String status
+) {
+}
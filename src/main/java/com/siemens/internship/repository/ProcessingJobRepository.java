@@ -0,0 +1,51 @@
+package com.siemens.internship.repository;
+
+import com.siemens.internship.model.ProcessingJob;
+import com.siemens.internship.model.ProcessingJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ProcessingJobRepository extends JpaRepository<ProcessingJob, Long> {
+    List<ProcessingJob> findByStatus(ProcessingJobStatus status);
+
+    // The progress is added in place, so a concurrent cancellation is never overwritten
+    @Transactional
+    @Modifying
+    @Query("""
+            update ProcessingJob j
+            set j.processedItems = j.processedItems + :processedItems,
+                j.failedItems = j.failedItems + :failedItems,
+                j.lastItemId = :lastItemId
+            where j.id = :id
+            """)
+    void addProgress(@Param("id") Long id,
+                     @Param("processedItems") long processedItems,
+                     @Param("failedItems") long failedItems,
+                     @Param("lastItemId") Long lastItemId);
+
+    // Only moves the job out of the given status, so the first transition wins (e.g. cancel vs complete)
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update ProcessingJob j
+            set j.status = :newStatus, j.failureReason = :failureReason, j.finishedAt = :finishedAt
+            where j.id = :id and j.status = :currentStatus
+            """)
+    int transition(@Param("id") Long id,
+                   @Param("currentStatus") ProcessingJobStatus currentStatus,
+                   @Param("newStatus") ProcessingJobStatus newStatus,
+                   @Param("failureReason") String failureReason,
+                   @Param("finishedAt") LocalDateTime finishedAt);
+
+    // Only the finished jobs have a finishedAt, a running job is never deleted
+    @Transactional
+    @Modifying
+    @Query("delete from ProcessingJob j where j.finishedAt < :cutoff")
+    int deleteByFinishedAtBefore(@Param("cutoff") LocalDateTime cutoff);
+}
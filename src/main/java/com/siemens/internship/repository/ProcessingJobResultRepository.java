@@ -0,0 +1,26 @@
+package com.siemens.internship.repository;
+
+import com.siemens.internship.model.ProcessingJobResult;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface ProcessingJobResultRepository extends JpaRepository<ProcessingJobResult, Long> {
+    // Always ordered by id (any requested sort comes after it), so the pages neither repeat nor skip results
+    Page<ProcessingJobResult> findByJobIdOrderByIdAsc(Long jobId, Pageable pageable);
+
+    // The results of the jobs that finished before the cutoff, the jobs themselves are deleted right after
+    @Transactional
+    @Modifying
+    @Query("""
+            delete from ProcessingJobResult r
+            where r.jobId in (select j.id from ProcessingJob j where j.finishedAt < :cutoff)
+            """)
+    int deleteByJobFinishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
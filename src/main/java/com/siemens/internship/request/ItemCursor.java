@@ -0,0 +1,40 @@
+package com.siemens.internship.request;
+
+import com.siemens.internship.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// An opaque position in the id-ordered list of items, the next page starts right after the last id
+public record ItemCursor(
+        Long lastId
+) {
+    private static final String PREFIX = "id:";
+
+    public static final ItemCursor START = new ItemCursor(0L);
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // An empty cursor asks for the first page
+    public static ItemCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+
+            if (!decoded.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Unknown cursor format");
+            }
+
+            return new ItemCursor(Long.parseLong(decoded.substring(PREFIX.length())));
+        }
+
+        catch (IllegalArgumentException e) {
+            throw new BadRequestException(String.format("The provided cursor (%s) is not valid", cursor));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.siemens.internship.request;
+
+import com.siemens.internship.exception.BadRequestException;
+import com.siemens.internship.response.ItemResponse;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// The fields of an item a client can ask for with ?fields=, named like in the JSON of an item (and like the entity attributes)
+@Getter
+@RequiredArgsConstructor
+public enum ItemField {
+    ID("id"),
+    NAME("name"),
+    DESCRIPTION("description"),
+    STATUS("status"),
+    EMAIL("email"),
+    VERSION("version");
+
+    private final String name;
+
+    public Object valueOf(ItemResponse item) {
+        return switch (this) {
+            case ID -> item.id();
+            case NAME -> item.name();
+            case DESCRIPTION -> item.description();
+            case STATUS -> item.status();
+            case EMAIL -> item.email();
+            case VERSION -> item.version();
+        };
+    }
+
+    // A comma separated list, e.g. "name,status", the id always comes along (it is what the cursors and links are built from)
+    public static Set<ItemField> parse(String fields) {
+        Set<ItemField> parsedFields = EnumSet.of(ID);
+
+        for (String field : fields.split(",")) {
+            String trimmedField = field.trim();
+
+            if (trimmedField.isEmpty()) {
+                continue;
+            }
+
+            parsedFields.add(Arrays.stream(values())
+                    .filter(itemField -> itemField.name.equals(trimmedField))
+                    .findFirst()
+                    .orElseThrow(() -> new BadRequestException(String.format("The field (%s) is not one of: %s", trimmedField,
+                            Arrays.stream(values()).map(ItemField::getName).collect(Collectors.joining(", "))))));
+        }
+
+        return parsedFields;
+    }
+}
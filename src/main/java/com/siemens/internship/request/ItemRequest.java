@@ -1,5 +1,6 @@
 package com.siemens.internship.request;
 
+import com.siemens.internship.validation.ValidEmail;
 import jakarta.validation.constraints.*;
 
 public record ItemRequest(
@@ -16,13 +17,10 @@ public record ItemRequest(
         String status,
 
         // Would've been way simpler to just use the @Email annotation instead of the pattern, but the requirements ask for a regex
-        // The regular expression has been copied from here: https://www.baeldung.com/java-email-validation-regex
+        // @ValidEmail checks the grammar of that regex (see the annotation) without running it on every request
         @NotBlank(message = "The email is required")
         @Size(min = 1, max = 100, message = "The email must contain at most 100 characters")
-        @Pattern(
-                regexp = "^(?=.{1,64}@)[A-Za-z0-9_-]+(\\.[A-Za-z0-9_-]+)*@[^-][A-Za-z0-9-]+(\\.[A-Za-z0-9-]+)*(\\.[A-Za-z]{2,})$",
-                message = "The email must follow the 'local_part@domain' pattern (e.g: email@domain.com)"
-        )
+        @ValidEmail
         String email
 ) {
 }
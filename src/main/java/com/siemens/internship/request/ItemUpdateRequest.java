@@ -0,0 +1,15 @@
+package com.siemens.internship.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+// One entry of a bulk update, the id of the item to update next to its new values
+public record ItemUpdateRequest(
+        @NotNull(message = "The id is required")
+        Long id,
+
+        @NotNull(message = "The item is required")
+        @Valid
+        ItemRequest item
+) {
+}
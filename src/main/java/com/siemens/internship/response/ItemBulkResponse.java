@@ -0,0 +1,11 @@
+package com.siemens.internship.response;
+
+import java.util.List;
+
+public record ItemBulkResponse(
+        int totalItems,
+        int succeededItems,
+        int failedItems,
+        List<ItemBulkResult> results
+) {
+}
@@ -0,0 +1,12 @@
+package com.siemens.internship.response;
+
+import com.siemens.internship.model.ItemBulkOutcome;
+
+// The outcome of a single entry of a bulk request, index is its position in the request body
+public record ItemBulkResult(
+        int index,
+        Long id,
+        ItemBulkOutcome outcome,
+        String message
+) {
+}
@@ -0,0 +1,11 @@
+package com.siemens.internship.response;
+
+public record ItemCacheStatisticsResponse(
+        long size,
+        long hitCount,
+        long missCount,
+        double hitRate,
+        long loadCount,
+        long evictionCount
+) {
+}
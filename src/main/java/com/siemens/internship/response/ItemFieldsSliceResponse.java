@@ -0,0 +1,14 @@
+package com.siemens.internship.response;
+
+import java.util.List;
+import java.util.Map;
+
+// Like ItemSliceResponse, with only the requested fields of every item
+public record ItemFieldsSliceResponse(
+        List<Map<String, Object>> content,
+        int size,
+        int numberOfElements,
+        boolean hasNext,
+        String nextCursor
+) {
+}
@@ -0,0 +1,7 @@
+package com.siemens.internship.response;
+
+public record ItemImportRejection(
+        long line,
+        String reason
+) {
+}
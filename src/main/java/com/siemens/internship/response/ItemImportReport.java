@@ -0,0 +1,15 @@
+package com.siemens.internship.response;
+
+import java.util.List;
+
+// Only the first rejections are listed (rejectionsTruncated tells whether there were more), the counters cover every row
+public record ItemImportReport(
+        long totalRows,
+        long acceptedRows,
+        long rejectedRows,
+        long elapsedMillis,
+        double rowsPerSecond,
+        List<ItemImportRejection> rejections,
+        boolean rejectionsTruncated
+) {
+}
@@ -0,0 +1,11 @@
+package com.siemens.internship.response;
+
+public record ItemProcessingReport(
+        int chunkSize,
+        int chunks,
+        long processedItems,
+        long failedItems,
+        long elapsedMillis,
+        double itemsPerSecond
+) {
+}
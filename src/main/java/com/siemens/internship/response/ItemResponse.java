@@ -5,6 +5,7 @@ public record ItemResponse(
         String name,
         String description,
         String status,
-        String email
+        String email,
+        Long version
 ) {
 }
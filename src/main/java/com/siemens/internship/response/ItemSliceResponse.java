@@ -0,0 +1,13 @@
+package com.siemens.internship.response;
+
+import java.util.List;
+
+// A page without a total count, the client keeps following nextCursor while hasNext is true
+public record ItemSliceResponse(
+        List<ItemResponse> content,
+        int size,
+        int numberOfElements,
+        boolean hasNext,
+        String nextCursor
+) {
+}
@@ -0,0 +1,10 @@
+package com.siemens.internship.response;
+
+import java.util.Map;
+
+// The number of items in every status (sorted by status), the statuses without items are left out
+public record ItemStatusCountsResponse(
+        long total,
+        Map<String, Long> counts
+) {
+}
@@ -0,0 +1,18 @@
+package com.siemens.internship.response;
+
+import com.siemens.internship.model.ProcessingJobStatus;
+
+public record ProcessingJobResponse(
+        Long id,
+        ProcessingJobStatus status,
+        Integer chunkSize,
+        long totalItems,
+        long processedItems,
+        long failedItems,
+        long remainingItems,
+        double itemsPerSecond,
+        String failureReason,
+        String createdAt,
+        String finishedAt
+) {
+}
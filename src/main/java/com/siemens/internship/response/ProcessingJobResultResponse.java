@@ -0,0 +1,9 @@
+package com.siemens.internship.response;
+
+import com.siemens.internship.model.ProcessingJobResultOutcome;
+
+public record ProcessingJobResultResponse(
+        Long itemId,
+        ProcessingJobResultOutcome outcome
+) {
+}
@@ -0,0 +1,11 @@
+package com.siemens.internship.response;
+
+import com.fasterxml.jackson.databind.util.RawValue;
+
+// An item together with its JSON, encoded to UTF-8 once when the item is cached
+// The json is written into the response envelope as it is, the item is there for whatever needs its fields (e.g. the ETag)
+public record SerializedItemResponse(
+        ItemResponse item,
+        RawValue json
+) {
+}
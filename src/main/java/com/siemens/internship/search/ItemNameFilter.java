@@ -0,0 +1,372 @@
+package com.siemens.internship.search;
+
+import com.siemens.internship.configuration.ItemNameFilterProperties;
+import com.siemens.internship.event.ItemsChangedEvent;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemNameView;
+import com.siemens.internship.repository.ItemRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+
+// A Bloom filter over the normalized names of the items: a name it doesn't contain is certainly free, so the name
+// checks of the bulk writes only go to the database for the names it can't rule out
+// A Bloom filter can't forget a name, so the names of deleted and renamed items make it answer "maybe" for names
+// that are free again, it is rebuilt from the table once too many free names get through (or it fills up)
+// The unique index on the normalized name stays the actual check: a name is only added once the write that took it
+// has committed, a bulk write checking the same name in between is still caught by its insert
+@Component
+@Slf4j
+public class ItemNameFilter {
+    private static final int RELOAD_BATCH_SIZE = 1000;
+
+    // The measured rate is only trusted once this many free names have been checked since the last rebuild
+    private static final long MINIMUM_CHECKED_FREE_NAMES = 1000;
+
+    private final ItemRepository itemRepository;
+    private final ItemNameFilterProperties itemNameFilterProperties;
+
+    private final Counter skippedLookups;
+    private final Counter lookups;
+    private final Counter falsePositives;
+    private final Counter rebuilds;
+
+    // Null until it has been built (and when the filter is off), every name is a possible conflict then
+    private volatile Bits bits;
+
+    // The names added while a rebuild reads the table, they are added to the new bits when those replace the old ones
+    // Guarded by the lock, like the swap of the bits: an add either makes it into this queue before the swap
+    // or into the new bits after it, so no name added during a rebuild is lost with the old bits
+    private volatile List<String> addedDuringRebuild;
+    private final Object lock = new Object();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    public ItemNameFilter(ItemRepository itemRepository, ItemNameFilterProperties itemNameFilterProperties, MeterRegistry meterRegistry) {
+        this.itemRepository = itemRepository;
+        this.itemNameFilterProperties = itemNameFilterProperties;
+
+        this.skippedLookups = Counter.builder("item.name.filter.lookups.skipped")
+                .description("The number of name checks answered by the filter alone, without a database lookup")
+                .register(meterRegistry);
+
+        this.lookups = Counter.builder("item.name.filter.lookups")
+                .description("The number of names the filter couldn't rule out, so they were looked up in the database")
+                .register(meterRegistry);
+
+        this.falsePositives = Counter.builder("item.name.filter.false.positives")
+                .description("The number of names looked up in the database that turned out to be free")
+                .register(meterRegistry);
+
+        this.rebuilds = Counter.builder("item.name.filter.rebuilds")
+                .description("The number of times the filter was rebuilt from the table")
+                .register(meterRegistry);
+
+        Gauge.builder("item.name.filter.false.positive.rate", this, filter -> filter.measure(Bits::getFalsePositiveRate))
+                .description("The share of the free names checked since the last rebuild that the filter couldn't rule out")
+                .register(meterRegistry);
+
+        Gauge.builder("item.name.filter.expected.false.positive.rate", this, filter -> filter.measure(Bits::getExpectedFalsePositiveRate))
+                .description("The false positive rate the filter should have, given the share of its bits that are set")
+                .register(meterRegistry);
+
+        Gauge.builder("item.name.filter.names", this, filter -> filter.measure(current -> current.getNames().get()))
+                .description("The number of names in the filter")
+                .register(meterRegistry);
+    }
+
+    // Built once the application is up, a page of names at a time (no transaction is held open meanwhile)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!itemNameFilterProperties.isEnabled() || !rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+
+        long startTime = System.nanoTime();
+        List<String> added = new ArrayList<>();
+
+        try {
+            Bits current = bits;
+            Bits rebuilt = new Bits(Math.max(itemNameFilterProperties.getExpectedNames(), current == null ? 0 : 2 * current.getNames().get()),
+                    itemNameFilterProperties.getFalsePositiveRate());
+
+            synchronized (lock) {
+                addedDuringRebuild = added;
+            }
+
+            Long afterId = 0L;
+
+            while (true) {
+                List<ItemNameView> page = itemRepository.findNamesByIdGreaterThan(afterId, Limit.of(RELOAD_BATCH_SIZE));
+
+                // Items without a name (only possible for rows written outside of the API) can't conflict with anything
+                page.stream().map(ItemNameView::normalizedName).filter(Objects::nonNull).forEach(rebuilt::add);
+
+                if (page.size() < RELOAD_BATCH_SIZE) {
+                    break;
+                }
+
+                afterId = page.get(page.size() - 1).id();
+            }
+
+            synchronized (lock) {
+                added.forEach(rebuilt::add);
+                bits = rebuilt;
+                addedDuringRebuild = null;
+            }
+
+            rebuilds.increment();
+
+            log.info("[ItemNameFilter] Built the filter over {} names ({} KB, {} hashes) in {} ms",
+                    rebuilt.getNames().get(), rebuilt.getSize() / 8 / 1024, rebuilt.getHashes(), (System.nanoTime() - startTime) / 1_000_000);
+        }
+
+        catch (DataAccessException e) {
+            // The previous bits (if any) are still right, they only answer "maybe" more often
+            log.error("[ItemNameFilter] The names couldn't be read, the filter wasn't rebuilt | {}", e.getMessage());
+        }
+
+        finally {
+            synchronized (lock) {
+                addedDuringRebuild = null;
+            }
+
+            rebuilding.set(false);
+        }
+    }
+
+    // Runs after the commit, with the names the items were written with (no read: a delete or a status change carries no names,
+    // the names of deleted items just stay in the filter, and a name added twice is only counted once)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemsChanged(ItemsChangedEvent event) {
+        // Nothing to keep up to date before the first build (unless it is running, then the names are queued for it)
+        if (event.names().isEmpty() || (bits == null && addedDuringRebuild == null)) {
+            return;
+        }
+
+        event.names().forEach(name -> add(Item.normalizeName(name)));
+
+        Bits current = bits;
+
+        if (current != null && current.getNames().get() > current.getCapacity()) {
+            log.info("[ItemNameFilter] The filter holds {} names, more than the {} it was sized for, rebuilding it",
+                    current.getNames().get(), current.getCapacity());
+            rebuildInBackground();
+        }
+    }
+
+    public boolean mightContain(String normalizedName) {
+        Bits current = bits;
+
+        return current == null || current.mightContain(normalizedName);
+    }
+
+    // The distinct names (in their order) the filter can't rule out, only those have to be looked up
+    public List<String> mightContainAll(Collection<String> normalizedNames) {
+        Bits current = bits;
+        Set<String> distinctNames = new LinkedHashSet<>(normalizedNames);
+
+        if (current == null) {
+            return new ArrayList<>(distinctNames);
+        }
+
+        List<String> possibleNames = new ArrayList<>();
+
+        for (String normalizedName : distinctNames) {
+            if (current.mightContain(normalizedName)) {
+                possibleNames.add(normalizedName);
+            }
+        }
+
+        int skipped = distinctNames.size() - possibleNames.size();
+        current.getSkipped().add(skipped);
+        skippedLookups.increment(skipped);
+
+        return possibleNames;
+    }
+
+    // After the names that might be taken have been looked up: the ones that weren't found got past the filter although they're free
+    public void recordLookups(int lookedUpNames, int foundNames) {
+        Bits current = bits;
+        int free = lookedUpNames - foundNames;
+
+        lookups.increment(lookedUpNames);
+        falsePositives.increment(free);
+
+        if (current == null) {
+            return;
+        }
+
+        current.getFalsePositives().add(free);
+
+        if (current.getCheckedFreeNames() >= MINIMUM_CHECKED_FREE_NAMES
+                && current.getFalsePositiveRate() > itemNameFilterProperties.getMaximumFalsePositiveRate()) {
+            log.info("[ItemNameFilter] The filter let {} of the free names through (more than {}), rebuilding it",
+                    String.format("%.3f", current.getFalsePositiveRate()), itemNameFilterProperties.getMaximumFalsePositiveRate());
+            rebuildInBackground();
+        }
+    }
+
+    private void add(String normalizedName) {
+        if (normalizedName == null) {
+            return;
+        }
+
+        synchronized (lock) {
+            if (bits != null) {
+                bits.add(normalizedName);
+            }
+
+            if (addedDuringRebuild != null) {
+                addedDuringRebuild.add(normalizedName);
+            }
+        }
+    }
+
+    private void rebuildInBackground() {
+        if (!rebuilding.get()) {
+            Thread.ofVirtual().name("ItemNameFilter-rebuild").start(this::rebuild);
+        }
+    }
+
+    private double measure(ToDoubleFunction<Bits> measurement) {
+        Bits current = bits;
+
+        return current == null ? Double.NaN : measurement.applyAsDouble(current);
+    }
+
+    // The bits of one build of the filter, and what was measured on them
+    // Every name sets `hashes` bits, picked by double hashing (h1 + i * h2) from one 64-bit hash of the name
+    private static final class Bits {
+        private final AtomicLongArray words;
+        private final long size;
+        private final int hashes;
+        private final long capacity;
+
+        private final AtomicLong names = new AtomicLong();
+        private final AtomicLong setBits = new AtomicLong();
+        private final LongAdder skipped = new LongAdder();
+        private final LongAdder falsePositives = new LongAdder();
+
+        // The usual sizing: m = -n ln(p) / ln(2)^2 bits and k = m / n ln(2) hashes
+        Bits(long capacity, double falsePositiveRate) {
+            long bitCount = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+
+            this.words = new AtomicLongArray((int) Math.max(1, (bitCount + 63) / 64));
+            this.size = words.length() * 64L;
+            this.hashes = (int) Math.max(1, Math.round((double) size / capacity * Math.log(2)));
+            this.capacity = capacity;
+        }
+
+        // A name counts as added if it set at least one bit (the same name added again doesn't)
+        void add(String name) {
+            long hash = hash(name);
+            boolean changed = false;
+
+            for (int i = 1; i <= hashes; i++) {
+                long bit = bit(hash, i);
+                long mask = 1L << bit;
+                long previous = words.getAndAccumulate((int) (bit >>> 6), mask, (word, bitMask) -> word | bitMask);
+
+                if ((previous & mask) == 0) {
+                    setBits.incrementAndGet();
+                    changed = true;
+                }
+            }
+
+            if (changed) {
+                names.incrementAndGet();
+            }
+        }
+
+        boolean mightContain(String name) {
+            long hash = hash(name);
+
+            for (int i = 1; i <= hashes; i++) {
+                long bit = bit(hash, i);
+
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        long getCheckedFreeNames() {
+            return skipped.sum() + falsePositives.sum();
+        }
+
+        double getFalsePositiveRate() {
+            long checkedFreeNames = getCheckedFreeNames();
+
+            return checkedFreeNames == 0 ? 0 : (double) falsePositives.sum() / checkedFreeNames;
+        }
+
+        double getExpectedFalsePositiveRate() {
+            return Math.pow((double) setBits.get() / size, hashes);
+        }
+
+        AtomicLong getNames() {
+            return names;
+        }
+
+        LongAdder getSkipped() {
+            return skipped;
+        }
+
+        LongAdder getFalsePositives() {
+            return falsePositives;
+        }
+
+        long getSize() {
+            return size;
+        }
+
+        int getHashes() {
+            return hashes;
+        }
+
+        long getCapacity() {
+            return capacity;
+        }
+
+        private long bit(long hash, int i) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32) | 1;
+
+            return Math.floorMod(h1 + (long) i * h2, size);
+        }
+
+        // FNV-1a over the characters, then the finalizer of murmur3 so that similar names spread over all the bits
+        private static long hash(String name) {
+            long hash = 0xcbf29ce484222325L;
+
+            for (int i = 0; i < name.length(); i++) {
+                hash ^= name.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb9fe1a85ec53L;
+            hash ^= hash >>> 33;
+
+            return hash;
+        }
+    }
+}
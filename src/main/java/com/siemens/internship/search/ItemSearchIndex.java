@@ -0,0 +1,255 @@
+package com.siemens.internship.search;
+
+import com.siemens.internship.event.ItemsChangedEvent;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.response.ItemResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+// An inverted index over the names and descriptions of the items, kept in memory next to the items themselves,
+// so a search never goes to the database
+// Reads don't lock, writes are serialized (a reader may briefly see an item with only part of its new tokens)
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemSearchIndex {
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    // A term that is only the prefix of a token counts for less than the whole token
+    private static final double PREFIX_MATCH_FACTOR = 0.5;
+
+    private static final int RELOAD_BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+
+    // token -> (item id -> weight of the token in the item), sorted so that all the tokens with a prefix are one range
+    private final ConcurrentSkipListMap<String, Map<Long, Integer>> postings = new ConcurrentSkipListMap<>();
+
+    // item id -> the item and its tokens (needed to take the item out of the postings again)
+    private final Map<Long, IndexedItem> items = new ConcurrentHashMap<>();
+
+    // Lower-cased runs of letters and digits, everything else separates tokens
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+
+        if (text == null) {
+            return tokens;
+        }
+
+        int start = -1;
+
+        for (int i = 0; i <= text.length(); i++) {
+            boolean tokenCharacter = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+
+            if (tokenCharacter && start < 0) {
+                start = i;
+            }
+
+            else if (!tokenCharacter && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+
+        return tokens;
+    }
+
+    // Every term has to match a token of the item (exactly or as its prefix), the items are ranked by the sum
+    // of the weights of their best matching tokens, then by id
+    // Only the best `limit` items are kept (a bounded heap rather than sorting every match), the total counts them all
+    public SearchHits search(Collection<String> terms, int limit) {
+        // The terms with the fewest postings go first, the candidates narrow down as early as possible
+        List<TermMatch> matches = terms.stream()
+                .map(term -> TermMatch.of(term, postings.subMap(term, true, term + Character.MAX_VALUE, true)))
+                .sorted(Comparator.comparingInt(TermMatch::postingCount))
+                .toList();
+
+        Map<Long, Double> scores = null;
+
+        for (TermMatch match : matches) {
+            if (scores == null) {
+                scores = match.scores();
+            }
+
+            // Few candidates left: they are looked up in the postings of the term instead of walking all of them
+            else if ((long) scores.size() * match.tokens().size() < match.postingCount()) {
+                scores.entrySet().removeIf(entry -> {
+                    double termScore = match.score(entry.getKey());
+                    entry.setValue(entry.getValue() + termScore);
+                    return termScore == 0;
+                });
+            }
+
+            else {
+                Map<Long, Double> termScores = match.scores();
+
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((itemId, score) -> score + termScores.get(itemId));
+            }
+
+            if (scores.isEmpty()) {
+                return new SearchHits(List.of(), 0);
+            }
+        }
+
+        if (scores == null || limit <= 0) {
+            return new SearchHits(List.of(), scores == null ? 0 : scores.size());
+        }
+
+        Comparator<Map.Entry<Long, Double>> ranking = Map.Entry.<Long, Double>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey());
+
+        // The heap has the worst of the kept items on top, so a better one replaces it
+        PriorityQueue<Map.Entry<Long, Double>> best = new PriorityQueue<>(Math.min(limit, scores.size()) + 1, ranking.reversed());
+
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            if (best.size() < limit) {
+                best.add(entry);
+            }
+
+            else if (ranking.compare(entry, best.peek()) < 0) {
+                best.poll();
+                best.add(entry);
+            }
+        }
+
+        List<ItemResponse> hits = best.stream()
+                .sorted(ranking)
+                .map(entry -> items.get(entry.getKey()))
+                .filter(Objects::nonNull)
+                .map(IndexedItem::item)
+                .toList();
+
+        return new SearchHits(hits, scores.size());
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    // Built once the application is up, the whole table is streamed (a fetch size at a time) into the index
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long startTime = System.nanoTime();
+
+        postings.clear();
+        items.clear();
+
+        try (Stream<ItemResponse> stream = itemRepository.streamAllResponses()) {
+            stream.forEach(this::index);
+        }
+
+        log.info("[ItemSearchIndex] Indexed {} items ({} distinct tokens) in {} ms",
+                items.size(), postings.size(), (System.nanoTime() - startTime) / 1_000_000);
+    }
+
+    // Runs after the commit, the changed items are read back as they are now: the ones that are gone
+    // (deleted) leave the index, the others are indexed again
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onItemsChanged(ItemsChangedEvent event) {
+        List<Long> itemIds = event.itemIds();
+
+        for (int from = 0; from < itemIds.size(); from += RELOAD_BATCH_SIZE) {
+            List<Long> batch = itemIds.subList(from, Math.min(from + RELOAD_BATCH_SIZE, itemIds.size()));
+            Set<Long> removedIds = new HashSet<>(batch);
+
+            for (ItemResponse item : itemRepository.findResponsesByIdIn(batch)) {
+                index(item);
+                removedIds.remove(item.id());
+            }
+
+            removedIds.forEach(this::remove);
+        }
+    }
+
+    // The new tokens are added before the old ones are taken out, so the item can always be found by the tokens it keeps
+    private void index(ItemResponse item) {
+        Map<String, Integer> weights = new HashMap<>();
+
+        tokenize(item.name()).forEach(token -> weights.merge(token, NAME_WEIGHT, Integer::sum));
+        tokenize(item.description()).forEach(token -> weights.merge(token, DESCRIPTION_WEIGHT, Integer::sum));
+
+        IndexedItem previous = items.put(item.id(), new IndexedItem(item, weights.keySet()));
+
+        weights.forEach((token, weight) -> postings.computeIfAbsent(token, key -> new ConcurrentHashMap<>()).put(item.id(), weight));
+
+        if (previous != null) {
+            previous.tokens()
+                    .stream()
+                    .filter(token -> !weights.containsKey(token))
+                    .forEach(token -> removePosting(token, item.id()));
+        }
+    }
+
+    private void remove(Long itemId) {
+        IndexedItem previous = items.remove(itemId);
+
+        if (previous != null) {
+            previous.tokens().forEach(token -> removePosting(token, itemId));
+        }
+    }
+
+    private void removePosting(String token, Long itemId) {
+        postings.computeIfPresent(token, (key, itemIds) -> {
+            itemIds.remove(itemId);
+            return itemIds.isEmpty() ? null : itemIds;
+        });
+    }
+
+    // The best ranked items (up to the limit of the search) and the number of all the items that matched
+    public record SearchHits(List<ItemResponse> items, int total) {
+    }
+
+    // The tokens that start with a term of the query and the number of their postings
+    private record TermMatch(String term, NavigableMap<String, Map<Long, Integer>> tokens, int postingCount) {
+        static TermMatch of(String term, NavigableMap<String, Map<Long, Integer>> tokens) {
+            return new TermMatch(term, tokens, tokens.values().stream().mapToInt(Map::size).sum());
+        }
+
+        double factor(String token) {
+            return token.length() == term.length() ? 1.0 : PREFIX_MATCH_FACTOR;
+        }
+
+        // item id -> the weight of its best matching token
+        Map<Long, Double> scores() {
+            Map<Long, Double> scores = new HashMap<>(postingCount * 4 / 3 + 1);
+
+            tokens.forEach((token, itemIds) -> {
+                double factor = factor(token);
+                itemIds.forEach((itemId, weight) -> scores.merge(itemId, weight * factor, Math::max));
+            });
+
+            return scores;
+        }
+
+        // The weight of the best matching token of the item, 0 if none matches
+        double score(Long itemId) {
+            double best = 0;
+
+            for (Map.Entry<String, Map<Long, Integer>> posting : tokens.entrySet()) {
+                Integer weight = posting.getValue().get(itemId);
+
+                if (weight != null) {
+                    best = Math.max(best, weight * factor(posting.getKey()));
+                }
+            }
+
+            return best;
+        }
+    }
+
+    private record IndexedItem(ItemResponse item, Set<String> tokens) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.request.ItemRequest;
+import com.siemens.internship.request.ItemUpdateRequest;
+import com.siemens.internship.response.ItemBulkResponse;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public interface IItemBulkService {
+    ItemBulkResponse saveAll(List<ItemRequest> itemRequests);
+    ItemBulkResponse updateAll(List<ItemUpdateRequest> itemUpdateRequests);
+    ItemBulkResponse deleteAllById(List<Long> ids);
+}
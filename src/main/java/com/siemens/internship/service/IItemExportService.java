@@ -0,0 +1,11 @@
+package com.siemens.internship.service;
+
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+@Service
+public interface IItemExportService {
+    long exportAll(OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,13 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.ItemImportFormat;
+import com.siemens.internship.response.ItemImportReport;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Service
+public interface IItemImportService {
+    ItemImportReport importAll(InputStream inputStream, ItemImportFormat format) throws IOException;
+}
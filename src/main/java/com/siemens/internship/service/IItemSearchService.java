@@ -0,0 +1,11 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.response.ItemResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+@Service
+public interface IItemSearchService {
+    Page<ItemResponse> search(String query, Pageable pageable);
+}
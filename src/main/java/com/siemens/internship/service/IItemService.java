@@ -1,20 +1,42 @@
 package com.siemens.internship.service;
 
+import com.siemens.internship.request.ItemCursor;
+import com.siemens.internship.request.ItemField;
 import com.siemens.internship.request.ItemRequest;
+import com.siemens.internship.response.ItemCacheStatisticsResponse;
+import com.siemens.internship.response.ItemFieldsSliceResponse;
+import com.siemens.internship.response.ItemProcessingReport;
 import com.siemens.internship.response.ItemResponse;
+import com.siemens.internship.response.ItemSliceResponse;
+import com.siemens.internship.response.ItemStatusCountsResponse;
+import com.siemens.internship.response.SerializedItemResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 @Service
 public interface IItemService {
     Page<ItemResponse> findAll(Pageable pageable);
+    ItemSliceResponse findAll(ItemCursor cursor, int size);
+    Page<Map<String, Object>> findAll(Pageable pageable, Set<ItemField> fields);
+    ItemFieldsSliceResponse findAll(ItemCursor cursor, int size, Set<ItemField> fields);
+    ItemSliceResponse findAllByStatus(String status, ItemCursor cursor, int size);
     ItemResponse findById(Long id);
+    SerializedItemResponse findSerializedById(Long id);
+    Map<String, Object> findById(Long id, Set<ItemField> fields);
     ItemResponse save(ItemRequest itemRequest);
-    ItemResponse updateById(Long id, ItemRequest itemRequest);
+    ItemResponse updateById(Long id, ItemRequest itemRequest, Long expectedVersion);
+    boolean isWriteBehindEnabled();
+    ItemResponse bufferUpdateById(Long id, ItemRequest itemRequest);
+    void flushBufferedUpdateById(Long id);
     void deleteById(Long id);
     CompletableFuture<List<ItemResponse>> processItemsAsync();
+    CompletableFuture<ItemProcessingReport> processItemsInChunksAsync();
+    ItemCacheStatisticsResponse getCacheStatistics();
+    ItemStatusCountsResponse getStatusCounts();
 }
@@ -0,0 +1,15 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.response.ProcessingJobResponse;
+import com.siemens.internship.response.ProcessingJobResultResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+@Service
+public interface IProcessingJobService {
+    ProcessingJobResponse start();
+    ProcessingJobResponse findById(Long id);
+    Page<ProcessingJobResultResponse> findResultsById(Long id, Pageable pageable);
+    ProcessingJobResponse cancelById(Long id);
+}
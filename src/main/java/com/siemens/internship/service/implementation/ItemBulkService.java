@@ -0,0 +1,383 @@
+package com.siemens.internship.service.implementation;
+
+import com.siemens.internship.configuration.ItemBulkProperties;
+import com.siemens.internship.event.ItemsChangedEvent;
+import com.siemens.internship.exception.BadRequestException;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemBulkOutcome;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.request.ItemRequest;
+import com.siemens.internship.request.ItemUpdateRequest;
+import com.siemens.internship.response.ItemBulkResponse;
+import com.siemens.internship.response.ItemBulkResult;
+import com.siemens.internship.search.ItemNameFilter;
+import com.siemens.internship.service.IItemBulkService;
+import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional(Transactional.TxType.NOT_SUPPORTED) // Every chunk is written in its own transaction by the ItemBulkWriter
+@RequiredArgsConstructor
+@Slf4j
+public class ItemBulkService implements IItemBulkService {
+    private final ItemRepository itemRepository;
+    private final ItemBulkWriter itemBulkWriter;
+    private final ItemNameFilter itemNameFilter;
+    private final ItemBulkProperties itemBulkProperties;
+    private final Validator validator;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Override
+    public ItemBulkResponse saveAll(List<ItemRequest> itemRequests) {
+        checkSize(itemRequests);
+
+        ItemBulkResult[] results = new ItemBulkResult[itemRequests.size()];
+        List<Integer> validIndexes = new ArrayList<>();
+
+        // An invalid item only fails itself, the rest of the request still goes through
+        for (int i = 0; i < itemRequests.size(); i++) {
+            String violations = validate(itemRequests.get(i));
+
+            if (violations != null) {
+                results[i] = new ItemBulkResult(i, null, ItemBulkOutcome.INVALID, violations);
+            }
+
+            else {
+                validIndexes.add(i);
+            }
+        }
+
+        // The names used by the earlier entries of the request, so duplicates within the request are conflicts too
+        Set<String> requestedNames = new HashSet<>();
+
+        for (List<Integer> chunk : partition(validIndexes)) {
+            // One query for all the names of the chunk that are already taken
+            Set<String> takenNames = findByNormalizedNameIn(chunk.stream().map(i -> Item.normalizeName(itemRequests.get(i).name())).toList())
+                    .stream()
+                    .map(Item::getNormalizedName)
+                    .collect(Collectors.toSet());
+
+            List<Integer> acceptedIndexes = new ArrayList<>();
+
+            for (int i : chunk) {
+                String normalizedName = Item.normalizeName(itemRequests.get(i).name());
+
+                if (takenNames.contains(normalizedName) || !requestedNames.add(normalizedName)) {
+                    results[i] = nameConflict(i, null, itemRequests.get(i).name());
+                }
+
+                else {
+                    acceptedIndexes.add(i);
+                }
+            }
+
+            insertChunk(acceptedIndexes, itemRequests, results);
+        }
+
+        ItemBulkResponse response = toBulkResponse(results);
+
+        log.info("[ItemBulkService] Created {} of {} items", response.succeededItems(), response.totalItems());
+
+        return response;
+    }
+
+    @Override
+    public ItemBulkResponse updateAll(List<ItemUpdateRequest> itemUpdateRequests) {
+        checkSize(itemUpdateRequests);
+
+        ItemBulkResult[] results = new ItemBulkResult[itemUpdateRequests.size()];
+        List<Integer> validIndexes = new ArrayList<>();
+        Set<Long> requestedIds = new HashSet<>();
+
+        for (int i = 0; i < itemUpdateRequests.size(); i++) {
+            ItemUpdateRequest itemUpdateRequest = itemUpdateRequests.get(i);
+            String violations = validate(itemUpdateRequest);
+
+            if (violations != null) {
+                results[i] = new ItemBulkResult(i, itemUpdateRequest == null ? null : itemUpdateRequest.id(), ItemBulkOutcome.INVALID, violations);
+            }
+
+            // Two different updates of the same item in one request can't both win
+            else if (!requestedIds.add(itemUpdateRequest.id())) {
+                results[i] = duplicateId(i, itemUpdateRequest.id());
+            }
+
+            else {
+                validIndexes.add(i);
+            }
+        }
+
+        Set<String> requestedNames = new HashSet<>();
+
+        for (List<Integer> chunk : partition(validIndexes)) {
+            // An item keeping its own name isn't a conflict, so the owner of each taken name is needed
+            Map<String, Long> ownerIdsByName = findByNormalizedNameIn(chunk.stream().map(i -> Item.normalizeName(itemUpdateRequests.get(i).item().name())).toList())
+                    .stream()
+                    .collect(Collectors.toMap(Item::getNormalizedName, Item::getId));
+
+            List<Integer> acceptedIndexes = new ArrayList<>();
+
+            for (int i : chunk) {
+                ItemUpdateRequest itemUpdateRequest = itemUpdateRequests.get(i);
+                String normalizedName = Item.normalizeName(itemUpdateRequest.item().name());
+                Long ownerId = ownerIdsByName.get(normalizedName);
+
+                if ((ownerId != null && !ownerId.equals(itemUpdateRequest.id())) || !requestedNames.add(normalizedName)) {
+                    results[i] = nameConflict(i, itemUpdateRequest.id(), itemUpdateRequest.item().name());
+                }
+
+                else {
+                    acceptedIndexes.add(i);
+                }
+            }
+
+            List<Long> updatedIds = updateChunk(acceptedIndexes, itemUpdateRequests, results);
+
+            if (!updatedIds.isEmpty()) {
+                Map<Long, String> namesById = new HashMap<>();
+                acceptedIndexes.forEach(i -> namesById.put(itemUpdateRequests.get(i).id(), itemUpdateRequests.get(i).item().name()));
+
+                applicationEventPublisher.publishEvent(new ItemsChangedEvent(updatedIds, updatedIds.stream().map(namesById::get).toList()));
+            }
+        }
+
+        ItemBulkResponse response = toBulkResponse(results);
+
+        log.info("[ItemBulkService] Updated {} of {} items", response.succeededItems(), response.totalItems());
+
+        return response;
+    }
+
+    @Override
+    public ItemBulkResponse deleteAllById(List<Long> ids) {
+        checkSize(ids);
+
+        ItemBulkResult[] results = new ItemBulkResult[ids.size()];
+        List<Integer> validIndexes = new ArrayList<>();
+        Set<Long> requestedIds = new HashSet<>();
+
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+
+            if (id == null) {
+                results[i] = new ItemBulkResult(i, null, ItemBulkOutcome.INVALID, "The id is required");
+            }
+
+            else if (!requestedIds.add(id)) {
+                results[i] = duplicateId(i, id);
+            }
+
+            else {
+                validIndexes.add(i);
+            }
+        }
+
+        for (List<Integer> chunk : partition(validIndexes)) {
+            Set<Long> deletedIds = new HashSet<>(itemBulkWriter.deleteAllById(chunk.stream().map(ids::get).toList()));
+
+            for (int i : chunk) {
+                results[i] = deletedIds.contains(ids.get(i))
+                        ? new ItemBulkResult(i, ids.get(i), ItemBulkOutcome.DELETED, null)
+                        : notFound(i, ids.get(i));
+            }
+
+            if (!deletedIds.isEmpty()) {
+                applicationEventPublisher.publishEvent(new ItemsChangedEvent(List.copyOf(deletedIds)));
+            }
+        }
+
+        ItemBulkResponse response = toBulkResponse(results);
+
+        log.info("[ItemBulkService] Deleted {} of {} items", response.succeededItems(), response.totalItems());
+
+        return response;
+    }
+
+    private void insertChunk(List<Integer> indexes, List<ItemRequest> itemRequests, ItemBulkResult[] results) {
+        if (indexes.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<Long> ids = itemBulkWriter.insertAll(indexes.stream().map(itemRequests::get).toList());
+
+            for (int i = 0; i < indexes.size(); i++) {
+                results[indexes.get(i)] = new ItemBulkResult(indexes.get(i), ids.get(i), ItemBulkOutcome.CREATED, null);
+            }
+        }
+
+        catch (DataIntegrityViolationException e) {
+            // Someone else took one of the names after the check and the whole chunk was rolled back,
+            // so its items are written one at a time to find out which ones conflict
+            log.warn("[ItemBulkService] A chunk of {} items hit a constraint violation, creating its items one by one", indexes.size());
+
+            for (int index : indexes) {
+                try {
+                    Long id = itemBulkWriter.insertAll(List.of(itemRequests.get(index))).get(0);
+                    results[index] = new ItemBulkResult(index, id, ItemBulkOutcome.CREATED, null);
+                }
+
+                catch (DataIntegrityViolationException ex) {
+                    if (!ItemConstraints.isNameConflict(ex)) {
+                        throw ex;
+                    }
+
+                    results[index] = nameConflict(index, null, itemRequests.get(index).name());
+                }
+            }
+        }
+
+        List<Integer> createdIndexes = indexes.stream()
+                .filter(index -> results[index].outcome() == ItemBulkOutcome.CREATED)
+                .toList();
+
+        if (!createdIndexes.isEmpty()) {
+            applicationEventPublisher.publishEvent(new ItemsChangedEvent(createdIndexes.stream().map(index -> results[index].id()).toList(),
+                    createdIndexes.stream().map(index -> itemRequests.get(index).name()).toList()));
+        }
+    }
+
+    // Returns the ids of the items that were updated
+    private List<Long> updateChunk(List<Integer> indexes, List<ItemUpdateRequest> itemUpdateRequests, ItemBulkResult[] results) {
+        if (indexes.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> updatedIds = new ArrayList<>();
+
+        try {
+            Map<Long, ItemRequest> itemRequests = new LinkedHashMap<>();
+            indexes.forEach(i -> itemRequests.put(itemUpdateRequests.get(i).id(), itemUpdateRequests.get(i).item()));
+
+            updatedIds.addAll(itemBulkWriter.updateAll(itemRequests));
+        }
+
+        // A name conflict, or an item updated by someone else at the same time (its version no longer matches),
+        // rolled back the whole chunk, so its items are written one at a time to find the ones that fail
+        catch (DataIntegrityViolationException | OptimisticLockingFailureException e) {
+            log.warn("[ItemBulkService] A chunk of {} items hit a conflict, updating its items one by one", indexes.size());
+
+            for (int index : indexes) {
+                ItemUpdateRequest itemUpdateRequest = itemUpdateRequests.get(index);
+
+                try {
+                    updatedIds.addAll(itemBulkWriter.updateAll(Map.of(itemUpdateRequest.id(), itemUpdateRequest.item())));
+                }
+
+                catch (DataIntegrityViolationException ex) {
+                    if (!ItemConstraints.isNameConflict(ex)) {
+                        throw ex;
+                    }
+
+                    results[index] = nameConflict(index, itemUpdateRequest.id(), itemUpdateRequest.item().name());
+                }
+
+                catch (OptimisticLockingFailureException ex) {
+                    results[index] = concurrentUpdate(index, itemUpdateRequest.id());
+                }
+            }
+        }
+
+        Set<Long> updated = new HashSet<>(updatedIds);
+
+        for (int index : indexes) {
+            Long id = itemUpdateRequests.get(index).id();
+
+            if (updated.contains(id)) {
+                results[index] = new ItemBulkResult(index, id, ItemBulkOutcome.UPDATED, null);
+            }
+
+            else if (results[index] == null) {
+                results[index] = notFound(index, id);
+            }
+        }
+
+        return updatedIds;
+    }
+
+    // Only the names the name filter can't rule out are looked up, most new names never reach the database
+    private List<Item> findByNormalizedNameIn(List<String> normalizedNames) {
+        List<String> possibleNames = itemNameFilter.mightContainAll(normalizedNames);
+
+        if (possibleNames.isEmpty()) {
+            return List.of();
+        }
+
+        List<Item> items = itemRepository.findByNormalizedNameIn(possibleNames);
+        itemNameFilter.recordLookups(possibleNames.size(), items.size());
+
+        return items;
+    }
+
+    private void checkSize(List<?> requests) {
+        if (requests.isEmpty() || requests.size() > itemBulkProperties.getMaximumItems()) {
+            log.error("[ItemBulkService] A bulk request with {} items was rejected, throwing a bad request exception", requests.size());
+            throw new BadRequestException(String.format("A bulk request must contain between 1 and %d items", itemBulkProperties.getMaximumItems()));
+        }
+    }
+
+    // Returns the violations of the request joined together, or null when it is valid
+    private <T> String validate(T request) {
+        if (request == null) {
+            return "The item is required";
+        }
+
+        Set<ConstraintViolation<T>> violations = validator.validate(request);
+
+        if (violations.isEmpty()) {
+            return null;
+        }
+
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private <T> List<List<T>> partition(List<T> list) {
+        int chunkSize = itemBulkProperties.getChunkSize();
+        List<List<T>> chunks = new ArrayList<>();
+
+        for (int i = 0; i < list.size(); i += chunkSize) {
+            chunks.add(list.subList(i, Math.min(i + chunkSize, list.size())));
+        }
+
+        return chunks;
+    }
+
+    private ItemBulkResult nameConflict(int index, Long id, String name) {
+        return new ItemBulkResult(index, id, ItemBulkOutcome.CONFLICT, String.format("An item with this name (%s) already exists", name));
+    }
+
+    private ItemBulkResult concurrentUpdate(int index, Long id) {
+        return new ItemBulkResult(index, id, ItemBulkOutcome.CONFLICT, String.format("The item by the provided id (%d) has been modified in the meantime", id));
+    }
+
+    private ItemBulkResult duplicateId(int index, Long id) {
+        return new ItemBulkResult(index, id, ItemBulkOutcome.INVALID, String.format("The id (%d) appears more than once in the request", id));
+    }
+
+    private ItemBulkResult notFound(int index, Long id) {
+        return new ItemBulkResult(index, id, ItemBulkOutcome.NOT_FOUND, String.format("The item by the provided id (%d) couldn't be found", id));
+    }
+
+    private ItemBulkResponse toBulkResponse(ItemBulkResult[] results) {
+        int succeededItems = (int) Arrays.stream(results)
+                .filter(result -> result.outcome() == ItemBulkOutcome.CREATED
+                        || result.outcome() == ItemBulkOutcome.UPDATED
+                        || result.outcome() == ItemBulkOutcome.DELETED)
+                .count();
+
+        return new ItemBulkResponse(results.length, succeededItems, results.length - succeededItems, List.of(results));
+    }
+}
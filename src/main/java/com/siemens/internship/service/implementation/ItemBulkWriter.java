@@ -0,0 +1,101 @@
+package com.siemens.internship.service.implementation;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.request.ItemRequest;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class ItemBulkWriter {
+    private final ItemRepository itemRepository;
+
+    // Every chunk is written in its own transaction, so a failed chunk only rolls back itself
+    // and the flush sends the whole chunk as JDBC batches
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public List<Long> insertAll(List<ItemRequest> itemRequests) {
+        List<Item> items = itemRepository.saveAll(itemRequests.stream()
+                .map(itemRequest -> Item
+                        .builder()
+                        .name(itemRequest.name())
+                        .description(itemRequest.description())
+                        .status(itemRequest.status())
+                        .email(itemRequest.email())
+                        .build())
+                .toList());
+
+        itemRepository.flush();
+
+        return items.stream().map(Item::getId).toList();
+    }
+
+    // Returns the ids of the items that were found and updated
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public List<Long> updateAll(Map<Long, ItemRequest> itemRequests) {
+        List<Item> items = itemRepository.findAllById(itemRequests.keySet());
+
+        for (Item item : items) {
+            ItemRequest itemRequest = itemRequests.get(item.getId());
+
+            item.setName(itemRequest.name());
+            item.setDescription(itemRequest.description());
+            item.setStatus(itemRequest.status());
+            item.setEmail(itemRequest.email());
+        }
+
+        // The items are managed, so the flush sends all the updates together
+        itemRepository.flush();
+
+        return items.stream().map(Item::getId).toList();
+    }
+
+    // Writes items that were changed outside of a transaction (e.g. by the processing pipeline) and returns the written copies
+    // An item that was deleted or updated by someone else since it was read is skipped instead of failing the whole batch
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public List<Item> writeAll(List<Item> changedItems) {
+        Map<Long, Item> items = itemRepository.findAllById(changedItems.stream().map(Item::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        List<Item> writtenItems = new ArrayList<>(changedItems.size());
+
+        for (Item changedItem : changedItems) {
+            Item item = items.get(changedItem.getId());
+
+            if (item == null || !Objects.equals(item.getVersion(), changedItem.getVersion())) {
+                continue;
+            }
+
+            item.setName(changedItem.getName());
+            item.setDescription(changedItem.getDescription());
+            item.setStatus(changedItem.getStatus());
+            item.setEmail(changedItem.getEmail());
+
+            writtenItems.add(item);
+        }
+
+        itemRepository.flush();
+
+        return writtenItems;
+    }
+
+    // Returns the ids of the items that existed and were deleted
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public List<Long> deleteAllById(List<Long> ids) {
+        List<Long> existingIds = itemRepository.findIdsByIdIn(ids);
+
+        // A single "delete ... where id in (...)" statement, nothing is loaded into the persistence context
+        itemRepository.deleteAllByIdInBatch(existingIds);
+
+        return existingIds;
+    }
+}
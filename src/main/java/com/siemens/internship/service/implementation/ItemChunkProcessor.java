@@ -0,0 +1,104 @@
+package com.siemens.internship.service.implementation;
+
+import com.siemens.internship.configuration.ItemProcessingProperties;
+import com.siemens.internship.event.ItemsChangedEvent;
+import com.siemens.internship.metrics.ItemProcessingMetrics;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.pipeline.ItemProcessingPipeline;
+import com.siemens.internship.repository.ItemRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemChunkProcessor {
+    private final ItemRepository itemRepository;
+    private final ItemProcessingProperties itemProcessingProperties;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final ItemProcessingMetrics itemProcessingMetrics;
+    private final ItemProcessingPipeline itemProcessingPipeline;
+    private final TransactionTemplate transactionTemplate;
+
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public ItemChunkResult processChunk(Long afterId, int chunkSize) {
+        return processChunk(afterId, chunkSize, chunk -> {});
+    }
+
+    // Every chunk is recorded in its own transaction: the listener's records are committed (or rolled back) together with
+    // the set-based update, or right after the pipeline has written the items of the chunk
+    // The pipeline runs outside of it, its persist stage takes connections of its own while the stages work on the chunk
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public ItemChunkResult processChunk(Long afterId, int chunkSize, Consumer<ItemChunkResult> chunkListener) {
+        if (itemProcessingProperties.getMode() == ItemProcessingProperties.ProcessingMode.SET_BASED) {
+            return transactionTemplate.execute(status -> record(processChunkSetBased(afterId, chunkSize), chunkListener));
+        }
+
+        ItemChunkResult result = processChunkPerItem(afterId, chunkSize);
+
+        return transactionTemplate.execute(status -> record(result, chunkListener));
+    }
+
+    private ItemChunkResult record(ItemChunkResult result, Consumer<ItemChunkResult> chunkListener) {
+        if (!result.isEmpty()) {
+            chunkListener.accept(result);
+        }
+
+        return result;
+    }
+
+    // The chunk goes through the staged pipeline (every stage with its own workers and bounded queue, the persist stage
+    // writing in batches of their own), so only one chunk of items is in flight and a slow stage holds back the ones before it
+    // The items are read outside of a transaction, the stages change detached copies that the persist stage writes with a version check
+    private ItemChunkResult processChunkPerItem(Long afterId, int chunkSize) {
+        List<Item> items = itemRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(chunkSize));
+
+        if (items.isEmpty()) {
+            return new ItemChunkResult(afterId, 0, List.of(), List.of());
+        }
+
+        List<Long> processedItemIds = itemProcessingPipeline.process(items).stream().map(Item::getId).toList();
+        Set<Long> processedIds = new HashSet<>(processedItemIds);
+
+        List<Long> failedItemIds = items.stream()
+                .map(Item::getId)
+                .filter(id -> !processedIds.contains(id))
+                .toList();
+
+        return new ItemChunkResult(items.get(items.size() - 1).getId(), items.size(), processedItemIds, failedItemIds);
+    }
+
+    // No item is loaded and nothing is done per item: the chunk is a range of ids and a single UPDATE covers all of it,
+    // so a chunk costs two statements instead of a read, a task and a batched write per item
+    private ItemChunkResult processChunkSetBased(Long afterId, int chunkSize) {
+        List<Long> itemIds = itemRepository.findIdsByIdGreaterThan(afterId, Limit.of(chunkSize));
+
+        if (itemIds.isEmpty()) {
+            return new ItemChunkResult(afterId, 0, List.of(), List.of());
+        }
+
+        long startTime = System.nanoTime();
+        Long lastId = itemIds.get(itemIds.size() - 1);
+
+        int updatedItems = itemRepository.updateStatusByIdRange(afterId, lastId, "PROCESSED");
+
+        itemProcessingMetrics.record(startTime, itemIds.size());
+
+        // The pipeline publishes the changes of the items it writes, this update went around it
+        applicationEventPublisher.publishEvent(new ItemsChangedEvent(itemIds));
+
+        log.debug("[ItemChunkProcessor] Processed the items with ids in ({}, {}], {} of {} had to be updated", afterId, lastId, updatedItems, itemIds.size());
+
+        return new ItemChunkResult(lastId, itemIds.size(), itemIds, List.of());
+    }
+}
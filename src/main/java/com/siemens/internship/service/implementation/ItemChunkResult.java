@@ -0,0 +1,14 @@
+package com.siemens.internship.service.implementation;
+
+import java.util.List;
+
+public record ItemChunkResult(
+        Long lastId,
+        int readItems,
+        List<Long> processedItemIds,
+        List<Long> failedItemIds
+) {
+    public boolean isEmpty() {
+        return readItems == 0;
+    }
+}
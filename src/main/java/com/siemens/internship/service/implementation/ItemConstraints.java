@@ -0,0 +1,18 @@
+package com.siemens.internship.service.implementation;
+
+import com.siemens.internship.model.Item;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+final class ItemConstraints {
+    private ItemConstraints() {
+    }
+
+    // The database names the violated constraint in its message, the unique index on the normalized name is the only one we expect
+    static boolean isNameConflict(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+
+        return message != null && message.toLowerCase(Locale.ROOT).contains(Item.NORMALIZED_NAME_CONSTRAINT);
+    }
+}
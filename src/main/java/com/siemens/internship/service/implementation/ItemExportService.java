@@ -0,0 +1,60 @@
+package com.siemens.internship.service.implementation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.response.ItemResponse;
+import com.siemens.internship.service.IItemExportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemExportService implements IItemExportService {
+    private final ItemRepository itemRepository;
+    private final ObjectMapper objectMapper;
+
+    // Writes every item as one line of JSON (NDJSON), straight from the open result set to the output stream,
+    // so only the rows of the current fetch are ever held in memory, no matter how large the table is
+    @Override
+    @Transactional(readOnly = true) // The stream reads from the connection of the transaction until it is closed
+    public long exportAll(OutputStream outputStream) throws IOException {
+        long startTime = System.nanoTime();
+        long exportedItems = 0;
+
+        // Flushing after every row would turn each line into its own network write, the servlet buffer decides instead
+        ObjectWriter itemWriter = objectMapper
+                .writerFor(ItemResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        try (Stream<ItemResponse> items = itemRepository.streamAllResponses();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            // The caller owns the output stream, and the lines are separated by hand instead of the default space
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            Iterator<ItemResponse> iterator = items.iterator();
+
+            while (iterator.hasNext()) {
+                itemWriter.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                exportedItems++;
+            }
+        }
+
+        log.info("[ItemExportService] Exported {} items in {} ms", exportedItems, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+
+        return exportedItems;
+    }
+}
@@ -0,0 +1,271 @@
+package com.siemens.internship.service.implementation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.siemens.internship.configuration.ItemBulkProperties;
+import com.siemens.internship.configuration.ItemImportProperties;
+import com.siemens.internship.exception.BadRequestException;
+import com.siemens.internship.model.ItemBulkOutcome;
+import com.siemens.internship.model.ItemImportFormat;
+import com.siemens.internship.request.ItemRequest;
+import com.siemens.internship.response.ItemBulkResponse;
+import com.siemens.internship.response.ItemBulkResult;
+import com.siemens.internship.response.ItemImportRejection;
+import com.siemens.internship.response.ItemImportReport;
+import com.siemens.internship.service.IItemImportService;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+@Service
+@Transactional(Transactional.TxType.NOT_SUPPORTED) // Every batch is written in its own transaction by the bulk service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemImportService implements IItemImportService {
+    private static final List<String> CSV_COLUMNS = List.of("name", "description", "status", "email");
+
+    private final ItemBulkService itemBulkService;
+    private final ItemBulkProperties itemBulkProperties;
+    private final ItemImportProperties itemImportProperties;
+    private final ObjectMapper objectMapper;
+
+    // The upload is read line by line and written a batch at a time, so only one batch of rows
+    // (and at most maximumRejections rejected rows) is ever held in memory
+    @Override
+    public ItemImportReport importAll(InputStream inputStream, ItemImportFormat format) throws IOException {
+        long startTime = System.nanoTime();
+        int batchSize = Math.min(itemBulkProperties.getChunkSize(), itemBulkProperties.getMaximumItems());
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        ImportProgress progress = new ImportProgress(itemImportProperties.getMaximumRejections());
+        int maximumLineLength = itemImportProperties.getMaximumLineLength();
+        long lineNumber = 0;
+
+        Function<String, ItemRequest> recordParser;
+
+        if (format == ItemImportFormat.CSV) {
+            lineNumber++;
+            recordParser = csvRecordParser(readLine(reader, maximumLineLength, lineNumber));
+        }
+
+        else {
+            recordParser = ndjsonRecordParser();
+        }
+
+        String line;
+
+        while ((line = readLine(reader, maximumLineLength, lineNumber + 1)) != null) {
+            lineNumber++;
+
+            if (line.isBlank()) {
+                continue;
+            }
+
+            progress.totalRows++;
+
+            try {
+                progress.pendingRequests.add(recordParser.apply(line));
+                progress.pendingLines.add(lineNumber);
+            }
+
+            catch (IllegalArgumentException e) {
+                progress.reject(lineNumber, e.getMessage());
+            }
+
+            if (progress.pendingRequests.size() >= batchSize) {
+                writeBatch(progress);
+            }
+        }
+
+        writeBatch(progress);
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        double rowsPerSecond = progress.totalRows * 1000.0 / Math.max(elapsedMillis, 1);
+
+        log.info("[ItemImportService] Imported {} of {} rows ({} rejected) in {} ms | {} rows/s",
+                progress.acceptedRows, progress.totalRows, progress.rejectedRows, elapsedMillis, String.format("%.2f", rowsPerSecond));
+
+        return new ItemImportReport(progress.totalRows, progress.acceptedRows, progress.rejectedRows, elapsedMillis, rowsPerSecond,
+                progress.rejections, progress.rejectedRows > progress.rejections.size());
+    }
+
+    // Like BufferedReader.readLine (a line ends with \n, \r or \r\n), but a line can't grow past the maximum length,
+    // the batches written before it stay imported
+    private String readLine(BufferedReader reader, int maximumLength, long lineNumber) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+
+        while ((c = reader.read()) != -1) {
+            if (c == '\n') {
+                return line.toString();
+            }
+
+            if (c == '\r') {
+                reader.mark(1);
+
+                if (reader.read() != '\n') {
+                    reader.reset();
+                }
+
+                return line.toString();
+            }
+
+            if (line.length() == maximumLength) {
+                log.error("[ItemImportService] Line {} of the upload is longer than {} characters, throwing a bad request exception", lineNumber, maximumLength);
+                throw new BadRequestException(String.format("Line %d of the upload is longer than %d characters", lineNumber, maximumLength));
+            }
+
+            line.append((char) c);
+        }
+
+        return line.isEmpty() ? null : line.toString();
+    }
+
+    // The bulk save validates the rows, checks their names and writes them, its result index leads back to the line
+    private void writeBatch(ImportProgress progress) {
+        if (progress.pendingRequests.isEmpty()) {
+            return;
+        }
+
+        ItemBulkResponse response = itemBulkService.saveAll(progress.pendingRequests);
+
+        for (ItemBulkResult result : response.results()) {
+            if (result.outcome() == ItemBulkOutcome.CREATED) {
+                progress.acceptedRows++;
+            }
+
+            else {
+                progress.reject(progress.pendingLines.get(result.index()), result.message());
+            }
+        }
+
+        progress.pendingRequests = new ArrayList<>();
+        progress.pendingLines = new ArrayList<>();
+    }
+
+    private Function<String, ItemRequest> ndjsonRecordParser() {
+        ObjectReader itemReader = objectMapper.readerFor(ItemRequest.class);
+
+        return line -> {
+            try {
+                return itemReader.readValue(line);
+            }
+
+            catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Malformed JSON record: " + e.getOriginalMessage());
+            }
+        };
+    }
+
+    // The header row names the columns, so they can come in any order (unknown columns are ignored)
+    private Function<String, ItemRequest> csvRecordParser(String header) {
+        if (header == null) {
+            log.error("[ItemImportService] The CSV upload has no header row, throwing a bad request exception");
+            throw new BadRequestException("The CSV upload must start with a header row");
+        }
+
+        // Editors like to put a byte order mark in front of the header
+        List<String> columns = parseCsvLine(header.startsWith("\uFEFF") ? header.substring(1) : header)
+                .stream()
+                .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                .toList();
+
+        int[] positions = CSV_COLUMNS.stream().mapToInt(columns::indexOf).toArray();
+
+        if (Arrays.stream(positions).anyMatch(position -> position < 0)) {
+            log.error("[ItemImportService] The CSV header \"{}\" is missing required columns, throwing a bad request exception", header);
+            throw new BadRequestException(String.format("The CSV header must contain the columns %s", String.join(", ", CSV_COLUMNS)));
+        }
+
+        return line -> {
+            List<String> fields = parseCsvLine(line);
+
+            // A missing field is left null, the validation rejects it with the usual message
+            Function<Integer, String> field = column -> positions[column] < fields.size() ? fields.get(positions[column]) : null;
+
+            return new ItemRequest(field.apply(0), field.apply(1), field.apply(2), field.apply(3));
+        };
+    }
+
+    // RFC 4180 fields on a single line: separated by commas, optionally quoted, with "" standing for a quote inside quotes
+    private List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                }
+
+                else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                }
+
+                else {
+                    quoted = false;
+                }
+            }
+
+            else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            }
+
+            else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            }
+
+            else {
+                field.append(c);
+            }
+        }
+
+        if (quoted) {
+            throw new IllegalArgumentException("Malformed CSV record: unterminated quoted field");
+        }
+
+        fields.add(field.toString());
+
+        return fields;
+    }
+
+    private static final class ImportProgress {
+        private final int maximumRejections;
+        private final List<ItemImportRejection> rejections = new ArrayList<>();
+
+        private List<ItemRequest> pendingRequests = new ArrayList<>();
+        private List<Long> pendingLines = new ArrayList<>();
+
+        private long totalRows;
+        private long acceptedRows;
+        private long rejectedRows;
+
+        private ImportProgress(int maximumRejections) {
+            this.maximumRejections = maximumRejections;
+        }
+
+        private void reject(long line, String reason) {
+            rejectedRows++;
+
+            if (rejections.size() < maximumRejections) {
+                rejections.add(new ItemImportRejection(line, reason));
+            }
+        }
+    }
+}
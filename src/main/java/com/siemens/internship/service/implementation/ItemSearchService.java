@@ -0,0 +1,60 @@
+package com.siemens.internship.service.implementation;
+
+import com.siemens.internship.exception.BadRequestException;
+import com.siemens.internship.exception.ResourceNotFoundException;
+import com.siemens.internship.response.ItemResponse;
+import com.siemens.internship.search.ItemSearchIndex;
+import com.siemens.internship.service.IItemSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemSearchService implements IItemSearchService {
+    private static final int MAX_TERMS = 10;
+
+    private final ItemSearchIndex itemSearchIndex;
+
+    // Served from the in-memory index, no transaction (nor connection) is involved
+    // The results come ranked by relevance, so the sort of the pageable doesn't apply
+    @Override
+    public Page<ItemResponse> search(String query, Pageable pageable) {
+        Set<String> terms = new LinkedHashSet<>(ItemSearchIndex.tokenize(query));
+
+        if (terms.isEmpty()) {
+            log.error("[ItemSearchService] The search query \"{}\" has no terms, throwing a bad request exception", query);
+            throw new BadRequestException("The search query must contain at least one letter or digit");
+        }
+
+        if (terms.size() > MAX_TERMS) {
+            log.error("[ItemSearchService] The search query \"{}\" has too many terms, throwing a bad request exception", query);
+            throw new BadRequestException(String.format("The search query can't have more than %d terms", MAX_TERMS));
+        }
+
+        // Only the items up to the end of the requested page have to be ranked
+        int limit = pageable.isUnpaged() ? Integer.MAX_VALUE : (int) Math.min(pageable.getOffset() + pageable.getPageSize(), Integer.MAX_VALUE);
+
+        ItemSearchIndex.SearchHits hits = itemSearchIndex.search(terms, limit);
+
+        if (hits.total() == 0) {
+            log.error("[ItemSearchService] No items match the search query \"{}\", throwing a not found exception", query);
+            throw new ResourceNotFoundException("No items match the search query");
+        }
+
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(hits.items());
+        }
+
+        int from = (int) Math.min(pageable.getOffset(), hits.items().size());
+
+        return new PageImpl<>(hits.items().subList(from, hits.items().size()), pageable, hits.total());
+    }
+}
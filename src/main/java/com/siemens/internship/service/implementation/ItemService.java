@@ -1,52 +1,168 @@
 package com.siemens.internship.service.implementation;
 
+import com.siemens.internship.exception.PreconditionFailedException;
 import com.siemens.internship.exception.ResourceAlreadyExistsException;
 import com.siemens.internship.exception.ResourceNotFoundException;
+import com.siemens.internship.cache.ItemCache;
+import com.siemens.internship.configuration.ItemProcessingProperties;
+import com.siemens.internship.configuration.ItemWriteBehindProperties;
+import com.siemens.internship.event.ItemsChangedEvent;
 import com.siemens.internship.mapper.ItemMapper;
 import com.siemens.internship.model.Item;
+import com.siemens.internship.pipeline.ItemProcessingPipeline;
 import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.request.ItemCursor;
+import com.siemens.internship.request.ItemField;
 import com.siemens.internship.request.ItemRequest;
+import com.siemens.internship.response.ItemCacheStatisticsResponse;
+import com.siemens.internship.response.ItemFieldsSliceResponse;
+import com.siemens.internship.response.ItemProcessingReport;
 import com.siemens.internship.response.ItemResponse;
+import com.siemens.internship.response.ItemSliceResponse;
+import com.siemens.internship.response.ItemStatusCountsResponse;
+import com.siemens.internship.response.SerializedItemResponse;
 import com.siemens.internship.service.IItemService;
-import jakarta.transaction.Transactional;
+import com.siemens.internship.statistics.ItemStatusHistogram;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.*;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Timed("item.service") // One latency histogram per method, tagged with the class and method names
 @RequiredArgsConstructor
 @Slf4j
 public class ItemService implements IItemService {
     private final ItemRepository itemRepository;
     private final ItemMapper itemMapper;
+    private final ItemChunkProcessor itemChunkProcessor;
+    private final ItemProcessingProperties itemProcessingProperties;
+    private final ItemCache itemCache;
+    private final ItemStatusHistogram itemStatusHistogram;
+    private final ItemWriteBehindBuffer itemWriteBehindBuffer;
+    private final ItemWriteBehindProperties itemWriteBehindProperties;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final ItemProcessingPipeline itemProcessingPipeline;
 
+    // The reads run in read-only transactions: Hibernate skips the flush and the connection is marked read-only
     @Override
+    @Transactional(readOnly = true)
     public Page<ItemResponse> findAll(Pageable pageable) {
-        Page<Item> items = itemRepository.findAll(pageable);
+        Page<ItemResponse> items = itemRepository.findAllResponses(pageable);
 
         if (items.isEmpty()) {
             log.error("[ItemService] No items found, throwing a not found exception");
             throw new ResourceNotFoundException("No items could be found");
         }
 
-        return items.map(itemMapper::toItemResponse);
+        return items;
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public ItemSliceResponse findAll(ItemCursor cursor, int size) {
+        // One extra row tells whether there is a next page, without counting the table
+        List<ItemResponse> items = itemRepository.findResponsesByIdGreaterThan(cursor.lastId(), Limit.of(size + 1));
+
+        if (items.isEmpty()) {
+            log.error("[ItemService] No items found after the id \"{}\", throwing a not found exception", cursor.lastId());
+            throw new ResourceNotFoundException("No items could be found");
+        }
+
+        return toSlice(items, size);
+    }
+
+    // Only the requested columns are read, so these pages don't go through the cache (which holds whole items)
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> findAll(Pageable pageable, Set<ItemField> fields) {
+        Page<Map<String, Object>> items = itemRepository.findAllFields(fields, pageable);
+
+        if (items.isEmpty()) {
+            log.error("[ItemService] No items found, throwing a not found exception");
+            throw new ResourceNotFoundException("No items could be found");
+        }
+
+        return items;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ItemFieldsSliceResponse findAll(ItemCursor cursor, int size, Set<ItemField> fields) {
+        List<Map<String, Object>> items = itemRepository.findFieldsByIdGreaterThan(cursor.lastId(), fields, Limit.of(size + 1));
+
+        if (items.isEmpty()) {
+            log.error("[ItemService] No items found after the id \"{}\", throwing a not found exception", cursor.lastId());
+            throw new ResourceNotFoundException("No items could be found");
+        }
+
+        boolean hasNext = items.size() > size;
+        List<Map<String, Object>> content = hasNext ? items.subList(0, size) : items;
+
+        String nextCursor = hasNext ? new ItemCursor((Long) content.get(content.size() - 1).get(ItemField.ID.getName())).encode() : null;
+
+        return new ItemFieldsSliceResponse(content, size, content.size(), hasNext, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ItemSliceResponse findAllByStatus(String status, ItemCursor cursor, int size) {
+        List<ItemResponse> items = itemRepository.findResponsesByStatusAndIdGreaterThan(status, cursor.lastId(), Limit.of(size + 1));
+
+        if (items.isEmpty()) {
+            log.error("[ItemService] No items found with the status \"{}\" after the id \"{}\", throwing a not found exception", status, cursor.lastId());
+            throw new ResourceNotFoundException(String.format("No items with the status (%s) could be found", status));
+        }
+
+        return toSlice(items, size);
+    }
+
+    // A cache hit doesn't need a transaction (nor a connection), a miss reads the item in the read-only transaction of the repository
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public ItemResponse findById(Long id) {
+        return itemCache.get(id, this::loadItem);
+    }
+
+    // The item comes with its JSON already encoded, the controller writes it into the response without serializing the item again
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public SerializedItemResponse findSerializedById(Long id) {
+        return itemCache.getSerialized(id, this::loadItem);
+    }
+
+    // A cached item already has every field, otherwise only the requested columns are read (and the item isn't cached)
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Map<String, Object> findById(Long id, Set<ItemField> fields) {
+        ItemResponse cachedItem = itemCache.getIfPresent(id);
+
+        if (cachedItem != null) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            fields.forEach(field -> item.put(field.getName(), field.valueOf(cachedItem)));
+
+            return item;
+        }
+
         return itemRepository
-                .findById(id)
-                .map(itemMapper::toItemResponse)
+                .findFieldsById(id, fields)
                 .orElseGet(() -> {
                     log.error("[ItemService] The item by the provided id \"{}\" couldn't be found, throwing a not found exception", id);
                     throw new ResourceNotFoundException(String.format("The item by the provided id (%d) couldn't be found", id));
@@ -60,14 +176,8 @@ public class ItemService implements IItemService {
 
         // Also, why do items have emails?
 
-        Optional<Item> searchedItemByName = itemRepository
-                .findByNameIgnoreCase(itemRequest.name());
-
-        if (searchedItemByName.isPresent()) {
-            log.error("[ItemService] An item with this name \"{}\" already exists, throwing a conflict exception", itemRequest.name());
-            throw new ResourceAlreadyExistsException(String.format("An item with this name (%s) already exists", itemRequest.name()));
-        }
-
+        // The unique index on the normalized name does the check, so creating an item is a single insert
+        // (and two concurrent creates with the same name can't both get through)
         Item itemToSave = Item
                 .builder()
                 .name(itemRequest.name())
@@ -76,11 +186,15 @@ public class ItemService implements IItemService {
                 .email(itemRequest.email())
                 .build();
 
-        return itemMapper.toItemResponse(itemRepository.save(itemToSave));
+        ItemResponse savedItem = itemMapper.toItemResponse(saveAndFlush(itemToSave));
+        applicationEventPublisher.publishEvent(new ItemsChangedEvent(List.of(savedItem.id()), List.of(savedItem.name())));
+
+        return savedItem;
     }
 
+    // The expected version comes from the If-Match header (null when the client didn't send one)
     @Override
-    public ItemResponse updateById(Long id, ItemRequest itemRequest) {
+    public ItemResponse updateById(Long id, ItemRequest itemRequest, Long expectedVersion) {
         Item itemToUpdate = itemRepository
                 .findById(id)
                 .orElseGet(() -> {
@@ -88,12 +202,59 @@ public class ItemService implements IItemService {
                     throw new ResourceNotFoundException(String.format("The item by the provided id (%d) couldn't be found", id));
                 });
 
+        if (expectedVersion != null && !expectedVersion.equals(itemToUpdate.getVersion())) {
+            log.error("[ItemService] The item by the provided id \"{}\" is at version \"{}\", not \"{}\", throwing a precondition failed exception",
+                    id, itemToUpdate.getVersion(), expectedVersion);
+            throw new PreconditionFailedException(String.format("The item by the provided id (%d) has been modified in the meantime", id));
+        }
+
         itemToUpdate.setName(itemRequest.name());
         itemToUpdate.setDescription(itemRequest.description());
         itemToUpdate.setStatus(itemRequest.status());
         itemToUpdate.setEmail(itemRequest.email());
 
-        return itemMapper.toItemResponse(itemRepository.save(itemToUpdate));
+        Item savedItem;
+
+        // Another update committed between the read and the flush, the version check of the update statement caught it
+        try {
+            savedItem = saveAndFlush(itemToUpdate);
+        }
+
+        catch (OptimisticLockingFailureException e) {
+            log.error("[ItemService] The item by the provided id \"{}\" has been modified concurrently, throwing a precondition failed exception", id);
+            throw new PreconditionFailedException(String.format("The item by the provided id (%d) has been modified in the meantime", id));
+        }
+
+        ItemResponse updatedItem = itemMapper.toItemResponse(savedItem);
+        applicationEventPublisher.publishEvent(new ItemsChangedEvent(List.of(id), List.of(updatedItem.name())));
+
+        return updatedItem;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public boolean isWriteBehindEnabled() {
+        return itemWriteBehindProperties.isEnabled();
+    }
+
+    // Only checks that the item exists (usually from the cache) and buffers the update, no transaction (nor connection) is involved
+    // The item is returned as it will be written, without a version since it has none yet, and it is read back as it was until the flush
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ItemResponse bufferUpdateById(Long id, ItemRequest itemRequest) {
+        ItemResponse currentItem = itemCache.get(id, this::loadItem);
+
+        itemWriteBehindBuffer.submit(id, itemRequest);
+
+        return new ItemResponse(currentItem.id(), itemRequest.name(), itemRequest.description(), itemRequest.status(), itemRequest.email(), null);
+    }
+
+    // No transaction here: the buffer writes in a transaction of its own, and the direct update that follows opens another one
+    // (holding a connection while waiting for the buffer's could use up the pool)
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void flushBufferedUpdateById(Long id) {
+        itemWriteBehindBuffer.flush(id);
     }
 
     @Override
@@ -106,58 +267,141 @@ public class ItemService implements IItemService {
                 });
 
         itemRepository.delete(itemToDelete);
+        applicationEventPublisher.publishEvent(new ItemsChangedEvent(List.of(id)));
     }
 
+    // No transaction around the whole run: the pipeline writes the processed items in batches of their own,
+    // and the items are read a chunk at a time, so only one chunk of them is in flight (only the responses pile up)
     @Async
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public CompletableFuture<List<ItemResponse>> processItemsAsync() {
-        // Fetch all the items from the database and check if we have any to process
-        List<Item> items = itemRepository.findAll();
+        int chunkSize = itemProcessingProperties.getChunkSize();
+        List<ItemResponse> processedItems = new ArrayList<>();
+        long readItems = 0;
+        Long lastId = 0L;
 
-        if (items.isEmpty()) {
+        while (true) {
+            List<Item> items = itemRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(chunkSize));
+
+            if (items.isEmpty()) {
+                break;
+            }
+
+            // Only the items that made it through every stage and were written come back
+            itemProcessingPipeline.process(items).forEach(item -> processedItems.add(itemMapper.toItemResponse(item)));
+            readItems += items.size();
+            lastId = items.get(items.size() - 1).getId();
+
+            // A partial chunk means that the end of the table has been reached
+            if (items.size() < chunkSize) {
+                break;
+            }
+        }
+
+        if (readItems == 0) {
             log.error("[ItemService] No items found, throwing a not found exception");
             throw new ResourceNotFoundException("No items could be found");
         }
 
-        // Process each item asynchronously
-        List<CompletableFuture<ItemResponse>> futures = items.stream()
-                .map(item -> CompletableFuture.supplyAsync(() -> {
-                    try {
-                        // Simulate a processing delay
-                        TimeUnit.MILLISECONDS.sleep(100);
-
-                        // Update the current item's status
-                        item.setStatus("PROCESSED");
-
-                        // Save the updated item
-                        Item savedItem = itemRepository.save(item);
-
-                        // Map to response
-                        return itemMapper.toItemResponse(savedItem);
-                    }
-
-                    catch (InterruptedException e) {
-                        log.error("[ItemService] Interrupted while waiting for processing of items: {}", e.getMessage());
-                        Thread.currentThread().interrupt(); // Preserve thread interrupt status
-                        return null; // Skip this item
-                    }
-
-                    catch (Exception e) {
-                        // Log and skip the failed item
-                        log.error("[ItemService] Failed to process the item with id \"{}\" | {}", item.getId(), e.getMessage());
-                        return null;
-                    }
-                }))
-                .toList();
-
-        // Wait for all processing to complete and return only the successfully processed items
-        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
-                .thenApply(v ->
-                        futures.stream()
-                                .map(CompletableFuture::join)
-                                .filter(Objects::nonNull)
-                                .collect(Collectors.toList())
-                );
+        log.info("[ItemService] Processed {} of {} items", processedItems.size(), readItems);
+
+        return CompletableFuture.completedFuture(processedItems);
+    }
+
+    @Async
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // Every chunk opens its own transaction
+    public CompletableFuture<ItemProcessingReport> processItemsInChunksAsync() {
+        int chunkSize = itemProcessingProperties.getChunkSize();
+        long startTime = System.nanoTime();
+
+        int chunks = 0;
+        long processedItems = 0;
+        long failedItems = 0;
+        Long lastId = 0L;
+
+        // Walk the table chunk by chunk, so only one chunk of items is held in memory at a time
+        while (true) {
+            ItemChunkResult chunk = itemChunkProcessor.processChunk(lastId, chunkSize);
+
+            if (chunk.isEmpty()) {
+                break;
+            }
+
+            chunks++;
+            processedItems += chunk.processedItemIds().size();
+            failedItems += chunk.failedItemIds().size();
+            lastId = chunk.lastId();
+
+            // A partial chunk means that the end of the table has been reached
+            if (chunk.readItems() < chunkSize) {
+                break;
+            }
+        }
+
+        if (chunks == 0) {
+            log.error("[ItemService] No items found, throwing a not found exception");
+            throw new ResourceNotFoundException("No items could be found");
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        double itemsPerSecond = (processedItems + failedItems) * 1000.0 / Math.max(elapsedMillis, 1);
+
+        log.info("[ItemService] Processed {} items ({} failed) in {} chunks of at most {} items, {} ms | {} items/s",
+                processedItems, failedItems, chunks, chunkSize, elapsedMillis, String.format("%.2f", itemsPerSecond));
+
+        return CompletableFuture.completedFuture(
+                new ItemProcessingReport(chunkSize, chunks, processedItems, failedItems, elapsedMillis, itemsPerSecond)
+        );
+    }
+
+    @Override
+    public ItemCacheStatisticsResponse getCacheStatistics() {
+        return itemCache.getStatistics();
     }
-}
 
+    // Read from the in-memory counters, no transaction (nor connection) is involved
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ItemStatusCountsResponse getStatusCounts() {
+        Map<String, Long> counts = itemStatusHistogram.getCounts();
+
+        return new ItemStatusCountsResponse(counts.values().stream().mapToLong(Long::longValue).sum(), counts);
+    }
+
+    private ItemResponse loadItem(Long id) {
+        return itemRepository
+                .findResponseById(id)
+                .orElseGet(() -> {
+                    log.error("[ItemService] The item by the provided id \"{}\" couldn't be found, throwing a not found exception", id);
+                    throw new ResourceNotFoundException(String.format("The item by the provided id (%d) couldn't be found", id));
+                });
+    }
+
+    // The extra row (when there is one) only says that there is a next page, it isn't part of the slice
+    private ItemSliceResponse toSlice(List<ItemResponse> items, int size) {
+        boolean hasNext = items.size() > size;
+        List<ItemResponse> content = hasNext ? items.subList(0, size) : items;
+
+        String nextCursor = hasNext ? new ItemCursor(content.get(content.size() - 1).id()).encode() : null;
+
+        return new ItemSliceResponse(content, size, content.size(), hasNext, nextCursor);
+    }
+
+    // Flushes right away, so a name that is already taken surfaces here as a conflict
+    private Item saveAndFlush(Item item) {
+        try {
+            return itemRepository.saveAndFlush(item);
+        }
+
+        catch (DataIntegrityViolationException e) {
+            if (!ItemConstraints.isNameConflict(e)) {
+                throw e;
+            }
+
+            log.error("[ItemService] An item with this name \"{}\" already exists, throwing a conflict exception", item.getName());
+            throw new ResourceAlreadyExistsException(String.format("An item with this name (%s) already exists", item.getName()));
+        }
+    }
+}
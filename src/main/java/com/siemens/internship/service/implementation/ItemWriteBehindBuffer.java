@@ -0,0 +1,257 @@
+package com.siemens.internship.service.implementation;
+
+import com.siemens.internship.configuration.ItemWriteBehindProperties;
+import com.siemens.internship.event.ItemsChangedEvent;
+import com.siemens.internship.exception.ServiceUnavailableException;
+import com.siemens.internship.request.ItemRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// The updates waiting to be written in the write-behind mode, at most one per item: a later update of the same item
+// replaces the pending one, so an item updated many times between two flushes is written once
+// A single thread flushes the buffer on an interval (or as soon as it holds flush-size items), the shutdown drains it
+@Component
+@Slf4j
+public class ItemWriteBehindBuffer {
+    private final ItemBulkWriter itemBulkWriter;
+    private final ItemWriteBehindProperties itemWriteBehindProperties;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final Map<Long, PendingUpdate> pendingUpdates = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private final Timer flushLag;
+    private final Counter coalescedUpdates;
+    private final Counter failedUpdates;
+
+    private ScheduledExecutorService flusher;
+    private volatile boolean closed;
+
+    public ItemWriteBehindBuffer(ItemBulkWriter itemBulkWriter,
+                                 ItemWriteBehindProperties itemWriteBehindProperties,
+                                 ApplicationEventPublisher applicationEventPublisher,
+                                 MeterRegistry meterRegistry) {
+        this.itemBulkWriter = itemBulkWriter;
+        this.itemWriteBehindProperties = itemWriteBehindProperties;
+        this.applicationEventPublisher = applicationEventPublisher;
+
+        this.flushLag = Timer.builder("item.write.behind.lag")
+                .description("The time from the first buffered update of an item to its write")
+                .register(meterRegistry);
+
+        this.coalescedUpdates = Counter.builder("item.write.behind.coalesced")
+                .description("The number of updates that replaced a pending update of the same item")
+                .register(meterRegistry);
+
+        this.failedUpdates = Counter.builder("item.write.behind.failed")
+                .description("The number of acknowledged updates that couldn't be written")
+                .register(meterRegistry);
+
+        Gauge.builder("item.write.behind.pending", pendingUpdates, Map::size)
+                .description("The number of items with an update waiting in the buffer")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!itemWriteBehindProperties.isEnabled()) {
+            return;
+        }
+
+        long intervalMillis = itemWriteBehindProperties.getFlushInterval().toMillis();
+
+        flusher = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("ItemWriteBehind-", 0).factory());
+        flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+
+        log.info("[ItemWriteBehindBuffer] Flushing the buffered item updates every {} ms or every {} items",
+                intervalMillis, itemWriteBehindProperties.getFlushSize());
+    }
+
+    public void submit(Long id, ItemRequest itemRequest) {
+        if (closed) {
+            throw new ServiceUnavailableException("The server is shutting down, please try again later", Duration.ofSeconds(1));
+        }
+
+        PendingUpdate pendingUpdate = pendingUpdates.merge(id, new PendingUpdate(itemRequest, System.nanoTime(), 1),
+                (previous, next) -> new PendingUpdate(next.itemRequest(), previous.bufferedAt(), previous.updates() + 1));
+
+        if (pendingUpdate.updates() > 1) {
+            coalescedUpdates.increment();
+        }
+
+        // One early flush at a time, the flusher thread picks it up after (or instead of) the scheduled one
+        if (flusher != null && pendingUpdates.size() >= itemWriteBehindProperties.getFlushSize() && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flushQuietly);
+        }
+    }
+
+    public int getPendingItems() {
+        return pendingUpdates.size();
+    }
+
+    // Writes every pending update, flush-size items per transaction, and returns the number of items written
+    // An update that arrives while its item is being written waits for the next flush
+    public synchronized int flush() {
+        flushRequested.set(false);
+
+        List<Long> ids = new ArrayList<>(pendingUpdates.keySet());
+        int writtenItems = 0;
+
+        for (int from = 0; from < ids.size(); from += itemWriteBehindProperties.getFlushSize()) {
+            Map<Long, PendingUpdate> batch = new LinkedHashMap<>();
+
+            for (Long id : ids.subList(from, Math.min(from + itemWriteBehindProperties.getFlushSize(), ids.size()))) {
+                PendingUpdate pendingUpdate = pendingUpdates.remove(id);
+
+                if (pendingUpdate != null) {
+                    batch.put(id, pendingUpdate);
+                }
+            }
+
+            writtenItems += write(batch);
+        }
+
+        return writtenItems;
+    }
+
+    // Writes the pending update of the item (if any) right away, once the flush that may be writing it at the moment is done,
+    // so a direct write of the item that follows can't be overwritten by an update that was acknowledged before it
+    public synchronized void flush(Long id) {
+        PendingUpdate pendingUpdate = pendingUpdates.remove(id);
+
+        if (pendingUpdate != null) {
+            write(Map.of(id, pendingUpdate));
+        }
+    }
+
+    // The web server has stopped taking requests by now (the beans are destroyed after it), so nothing new comes in
+    @PreDestroy
+    public void drain() throws InterruptedException {
+        closed = true;
+
+        if (flusher != null) {
+            flusher.shutdown();
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+        }
+
+        int pendingItems = pendingUpdates.size();
+
+        if (pendingItems > 0) {
+            log.info("[ItemWriteBehindBuffer] Draining {} buffered item updates", pendingItems);
+            flush();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        }
+
+        catch (Exception e) {
+            log.error("[ItemWriteBehindBuffer] The flush failed | {}", e.getMessage());
+        }
+    }
+
+    // Returns the number of items written, the ones that were deleted in the meantime are skipped (and counted as failed)
+    private int write(Map<Long, PendingUpdate> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, ItemRequest> itemRequests = new LinkedHashMap<>();
+        batch.forEach((id, pendingUpdate) -> itemRequests.put(id, pendingUpdate.itemRequest()));
+
+        List<Long> writtenIds = new ArrayList<>();
+
+        try {
+            List<Long> updatedIds = itemBulkWriter.updateAll(itemRequests);
+
+            writtenIds.addAll(updatedIds);
+            skipDeleted(batch.size() - updatedIds.size());
+        }
+
+        catch (DataIntegrityViolationException | OptimisticLockingFailureException e) {
+            // A name conflict (or an update of the same item that committed in between) rolled back the whole batch,
+            // so its items are written one at a time to find the ones that fail
+            log.warn("[ItemWriteBehindBuffer] A batch of {} buffered updates failed, writing its items one by one", batch.size());
+
+            List<Long> ids = new ArrayList<>(itemRequests.keySet());
+
+            for (int i = 0; i < ids.size(); i++) {
+                Long id = ids.get(i);
+
+                try {
+                    List<Long> updatedIds = itemBulkWriter.updateAll(Map.of(id, itemRequests.get(id)));
+
+                    writtenIds.addAll(updatedIds);
+                    skipDeleted(1 - updatedIds.size());
+                }
+
+                catch (DataIntegrityViolationException | OptimisticLockingFailureException ex) {
+                    log.error("[ItemWriteBehindBuffer] The buffered update of the item with id \"{}\" couldn't be written | {}", id, ex.getMessage());
+                    failedUpdates.increment();
+                }
+
+                catch (DataAccessException | TransactionException ex) {
+                    // The database went away in the middle of the retries, the items not written yet go back into the buffer
+                    log.error("[ItemWriteBehindBuffer] {} buffered updates couldn't be written, retrying on the next flush | {}",
+                            ids.size() - i, ex.getMessage());
+                    ids.subList(i, ids.size()).forEach(leftId -> pendingUpdates.putIfAbsent(leftId, batch.get(leftId)));
+                    break;
+                }
+            }
+        }
+
+        // Not only the DAO exceptions: a connection that can't be opened fails the start of the transaction
+        // (CannotCreateTransactionException) and a failed commit fails its end (TransactionSystemException)
+        catch (DataAccessException | TransactionException e) {
+            // The database can't be reached, the updates go back into the buffer (unless a newer one has arrived meanwhile)
+            log.error("[ItemWriteBehindBuffer] A batch of {} buffered updates couldn't be written, retrying on the next flush | {}",
+                    batch.size(), e.getMessage());
+            batch.forEach(pendingUpdates::putIfAbsent);
+            return 0;
+        }
+
+        long now = System.nanoTime();
+
+        for (Long id : writtenIds) {
+            flushLag.record(now - batch.get(id).bufferedAt(), TimeUnit.NANOSECONDS);
+        }
+
+        if (!writtenIds.isEmpty()) {
+            applicationEventPublisher.publishEvent(new ItemsChangedEvent(writtenIds, writtenIds.stream().map(id -> itemRequests.get(id).name()).toList()));
+        }
+
+        log.debug("[ItemWriteBehindBuffer] Wrote {} of {} buffered item updates", writtenIds.size(), batch.size());
+
+        return writtenIds.size();
+    }
+
+    // The updates were acknowledged, but their items were deleted before the flush, so there is nothing left to write them to
+    private void skipDeleted(int deletedItems) {
+        if (deletedItems > 0) {
+            log.warn("[ItemWriteBehindBuffer] {} buffered updates were dropped, their items have been deleted", deletedItems);
+            failedUpdates.increment(deletedItems);
+        }
+    }
+
+    // The latest update of an item, when its first update since the last write was buffered, and how many updates it replaces
+    private record PendingUpdate(ItemRequest itemRequest, long bufferedAt, int updates) {
+    }
+}
@@ -0,0 +1,85 @@
+package com.siemens.internship.service.implementation;
+
+import com.siemens.internship.model.ProcessingJobResult;
+import com.siemens.internship.model.ProcessingJobResultOutcome;
+import com.siemens.internship.model.ProcessingJobStatus;
+import com.siemens.internship.repository.ProcessingJobRepository;
+import com.siemens.internship.repository.ProcessingJobResultRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProcessingJobRunner {
+    private final ItemChunkProcessor itemChunkProcessor;
+    private final ProcessingJobRepository processingJobRepository;
+    private final ProcessingJobResultRepository processingJobResultRepository;
+
+    // Starts after the given item, 0 for a new job and the last recorded item for a job that is resumed
+    @Async
+    public void run(Long jobId, int chunkSize, Long afterId) {
+        Long lastId = afterId;
+
+        try {
+            // The status is re-read before every chunk, this is how a cancellation reaches the job
+            while (isRunning(jobId)) {
+                ItemChunkResult chunk = itemChunkProcessor.processChunk(lastId, chunkSize, result -> recordChunk(jobId, result));
+
+                if (chunk.isEmpty()) {
+                    break;
+                }
+
+                lastId = chunk.lastId();
+
+                // A partial chunk means that the end of the table has been reached
+                if (chunk.readItems() < chunkSize) {
+                    break;
+                }
+            }
+
+            // A cancelled job is no longer running, so it can't be moved to completed
+            if (processingJobRepository.transition(jobId, ProcessingJobStatus.RUNNING, ProcessingJobStatus.COMPLETED, null, LocalDateTime.now()) > 0) {
+                log.info("[ProcessingJobRunner] The processing job \"{}\" has completed", jobId);
+            }
+
+            else {
+                log.info("[ProcessingJobRunner] The processing job \"{}\" has stopped after the item with id \"{}\"", jobId, lastId);
+            }
+        }
+
+        catch (Exception e) {
+            log.error("[ProcessingJobRunner] The processing job \"{}\" has failed after the item with id \"{}\" | {}", jobId, lastId, e.getMessage());
+            processingJobRepository.transition(jobId, ProcessingJobStatus.RUNNING, ProcessingJobStatus.FAILED, e.getMessage(), LocalDateTime.now());
+        }
+    }
+
+    private boolean isRunning(Long jobId) {
+        return processingJobRepository
+                .findById(jobId)
+                .map(job -> job.getStatus() == ProcessingJobStatus.RUNNING)
+                .orElse(false);
+    }
+
+    // Runs inside the transaction of the chunk, only the outcome of each item is kept (not the whole item)
+    private void recordChunk(Long jobId, ItemChunkResult chunk) {
+        List<ProcessingJobResult> results = new ArrayList<>(chunk.readItems());
+
+        chunk.processedItemIds().forEach(itemId -> results.add(
+                ProcessingJobResult.builder().jobId(jobId).itemId(itemId).outcome(ProcessingJobResultOutcome.PROCESSED).build()
+        ));
+
+        chunk.failedItemIds().forEach(itemId -> results.add(
+                ProcessingJobResult.builder().jobId(jobId).itemId(itemId).outcome(ProcessingJobResultOutcome.FAILED).build()
+        ));
+
+        processingJobResultRepository.saveAll(results);
+        processingJobRepository.addProgress(jobId, chunk.processedItemIds().size(), chunk.failedItemIds().size(), chunk.lastId());
+    }
+}
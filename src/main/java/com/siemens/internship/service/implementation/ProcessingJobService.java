@@ -0,0 +1,150 @@
+package com.siemens.internship.service.implementation;
+
+import com.siemens.internship.configuration.ItemProcessingProperties;
+import com.siemens.internship.exception.ResourceNotFoundException;
+import com.siemens.internship.mapper.ProcessingJobMapper;
+import com.siemens.internship.model.ProcessingJob;
+import com.siemens.internship.model.ProcessingJobStatus;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.repository.ProcessingJobRepository;
+import com.siemens.internship.repository.ProcessingJobResultRepository;
+import com.siemens.internship.response.ProcessingJobResponse;
+import com.siemens.internship.response.ProcessingJobResultResponse;
+import com.siemens.internship.service.IProcessingJobService;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class ProcessingJobService implements IProcessingJobService {
+    private final ProcessingJobRepository processingJobRepository;
+    private final ProcessingJobResultRepository processingJobResultRepository;
+    private final ItemRepository itemRepository;
+    private final ProcessingJobMapper processingJobMapper;
+    private final ProcessingJobRunner processingJobRunner;
+    private final ItemProcessingProperties itemProcessingProperties;
+
+    @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED) // The job has to be committed before the runner looks it up
+    public ProcessingJobResponse start() {
+        long totalItems = itemRepository.count();
+
+        if (totalItems == 0) {
+            log.error("[ProcessingJobService] No items found, throwing a not found exception");
+            throw new ResourceNotFoundException("No items could be found");
+        }
+
+        deleteExpiredJobs();
+
+        ProcessingJob processingJob = processingJobRepository.save(
+                ProcessingJob
+                        .builder()
+                        .status(ProcessingJobStatus.RUNNING)
+                        .chunkSize(itemProcessingProperties.getChunkSize())
+                        .totalItems(totalItems)
+                        .processedItems(0L)
+                        .failedItems(0L)
+                        .lastItemId(0L)
+                        .createdAt(LocalDateTime.now())
+                        .build()
+        );
+
+        try {
+            processingJobRunner.run(processingJob.getId(), processingJob.getChunkSize(), 0L);
+        }
+
+        catch (TaskRejectedException e) {
+            log.error("[ProcessingJobService] The processing job \"{}\" couldn't be scheduled | {}", processingJob.getId(), e.getMessage());
+            processingJobRepository.transition(processingJob.getId(), ProcessingJobStatus.RUNNING, ProcessingJobStatus.FAILED, e.getMessage(), LocalDateTime.now());
+            throw e;
+        }
+
+        return processingJobMapper.toProcessingJobResponse(processingJob);
+    }
+
+    // A job still running at startup was cut off when the application stopped (nothing else runs the jobs of its database),
+    // it carries on after the last item it recorded: the items of a chunk that wasn't recorded are processed again
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public void resumeRunningJobs() {
+        for (ProcessingJob processingJob : processingJobRepository.findByStatus(ProcessingJobStatus.RUNNING)) {
+            log.info("[ProcessingJobService] Resuming the processing job \"{}\" after the item with id \"{}\"", processingJob.getId(), processingJob.getLastItemId());
+
+            try {
+                processingJobRunner.run(processingJob.getId(), processingJob.getChunkSize(), processingJob.getLastItemId());
+            }
+
+            catch (TaskRejectedException e) {
+                log.error("[ProcessingJobService] The processing job \"{}\" couldn't be resumed | {}", processingJob.getId(), e.getMessage());
+                processingJobRepository.transition(processingJob.getId(), ProcessingJobStatus.RUNNING, ProcessingJobStatus.FAILED, e.getMessage(), LocalDateTime.now());
+            }
+        }
+    }
+
+    @Override
+    public ProcessingJobResponse findById(Long id) {
+        return processingJobMapper.toProcessingJobResponse(getProcessingJob(id));
+    }
+
+    @Override
+    public Page<ProcessingJobResultResponse> findResultsById(Long id, Pageable pageable) {
+        // Make sure the job exists, an unknown job shouldn't look like a job without results
+        getProcessingJob(id);
+
+        return processingJobResultRepository
+                .findByJobIdOrderByIdAsc(id, pageable)
+                .map(processingJobMapper::toProcessingJobResultResponse);
+    }
+
+    @Override
+    public ProcessingJobResponse cancelById(Long id) {
+        getProcessingJob(id);
+
+        // Cancelling a job that has already finished leaves it as it is
+        if (processingJobRepository.transition(id, ProcessingJobStatus.RUNNING, ProcessingJobStatus.CANCELLED, null, LocalDateTime.now()) == 0) {
+            log.info("[ProcessingJobService] The processing job \"{}\" has already finished, nothing to cancel", id);
+        }
+
+        return processingJobMapper.toProcessingJobResponse(getProcessingJob(id));
+    }
+
+    // Every job stores a result per item, so the old ones are dropped before a new one adds its own
+    private void deleteExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(itemProcessingProperties.getRetention());
+
+        try {
+            int deletedResults = processingJobResultRepository.deleteByJobFinishedBefore(cutoff);
+            int deletedJobs = processingJobRepository.deleteByFinishedAtBefore(cutoff);
+
+            if (deletedJobs > 0) {
+                log.info("[ProcessingJobService] Deleted {} processing jobs that finished before {} and their {} results", deletedJobs, cutoff, deletedResults);
+            }
+        }
+
+        // The next start tries again, a new job doesn't wait for the old ones to go
+        catch (DataAccessException e) {
+            log.warn("[ProcessingJobService] The processing jobs that finished before {} couldn't be deleted | {}", cutoff, e.getMessage());
+        }
+    }
+
+    private ProcessingJob getProcessingJob(Long id) {
+        return processingJobRepository
+                .findById(id)
+                .orElseGet(() -> {
+                    log.error("[ProcessingJobService] The processing job by the provided id \"{}\" couldn't be found, throwing a not found exception", id);
+                    throw new ResourceNotFoundException(String.format("The processing job by the provided id (%d) couldn't be found", id));
+                });
+    }
+}
@@ -0,0 +1,91 @@
+package com.siemens.internship.statistics;
+
+import com.siemens.internship.event.ItemsChangedEvent;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.repository.ItemStatusView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+// The number of items per status, kept up to date from the writes instead of grouping the table on every request
+// Reads don't lock, writes are serialized (a reader may briefly see an item moving between two statuses counted in neither)
+// Items without a status (only possible for rows written outside of the API) aren't counted
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemStatusHistogram {
+    private static final int RELOAD_BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+
+    // item id -> its status, so a change knows which counter the item leaves
+    private final Map<Long, String> statuses = new ConcurrentHashMap<>();
+
+    // status -> number of items in it
+    private final Map<String, Long> counts = new ConcurrentHashMap<>();
+
+    public Map<String, Long> getCounts() {
+        return new TreeMap<>(counts);
+    }
+
+    // Counted once the application is up, from the (status, id) index rather than from the rows
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long startTime = System.nanoTime();
+
+        statuses.clear();
+        counts.clear();
+
+        try (Stream<ItemStatusView> stream = itemRepository.streamAllStatuses()) {
+            stream.forEach(item -> move(item.id(), item.status()));
+        }
+
+        log.info("[ItemStatusHistogram] Counted {} items in {} statuses in {} ms",
+                statuses.size(), counts.size(), (System.nanoTime() - startTime) / 1_000_000);
+    }
+
+    // Runs after the commit, the statuses of the changed items are read back as they are now
+    // (the ones that are gone have been deleted)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onItemsChanged(ItemsChangedEvent event) {
+        List<Long> itemIds = event.itemIds();
+
+        for (int from = 0; from < itemIds.size(); from += RELOAD_BATCH_SIZE) {
+            List<Long> batch = itemIds.subList(from, Math.min(from + RELOAD_BATCH_SIZE, itemIds.size()));
+            Set<Long> removedIds = new HashSet<>(batch);
+
+            for (ItemStatusView item : itemRepository.findStatusesByIdIn(batch)) {
+                move(item.id(), item.status());
+                removedIds.remove(item.id());
+            }
+
+            removedIds.forEach(itemId -> move(itemId, null));
+        }
+    }
+
+    // Moves the item from the counter of its previous status to the one of its current status (null when it's gone)
+    private void move(Long itemId, String status) {
+        String previous = status == null ? statuses.remove(itemId) : statuses.put(itemId, status);
+
+        if (Objects.equals(previous, status)) {
+            return;
+        }
+
+        if (status != null) {
+            counts.merge(status, 1L, Long::sum);
+        }
+
+        if (previous != null) {
+            counts.computeIfPresent(previous, (key, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.siemens.internship.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class EmailValidator implements ConstraintValidator<ValidEmail, CharSequence> {
+    private static final int MAXIMUM_LOCAL_PART_LENGTH = 64;
+
+    @Override
+    public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+        return value == null || isValid(value);
+    }
+
+    // One pass, no backtracking and no allocation, the comments map each step to the part of the pattern it replaces
+    public static boolean isValid(CharSequence value) {
+        int length = value.length();
+        int i = 0;
+
+        // [A-Za-z0-9_-]+(\.[A-Za-z0-9_-]+)* up to the first '@', a local part can't contain an '@'
+        boolean emptySegment = true;
+
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+
+            if (c == '@') {
+                break;
+            }
+
+            if (c == '.') {
+                if (emptySegment) {
+                    return false;
+                }
+
+                emptySegment = true;
+            }
+
+            else if (isLetterOrDigit(c) || c == '_' || c == '-') {
+                emptySegment = false;
+            }
+
+            else {
+                return false;
+            }
+        }
+
+        // (?=.{1,64}@), also rejects an empty local part and one ending with a dot
+        if (i == length || emptySegment || i > MAXIMUM_LOCAL_PART_LENGTH) {
+            return false;
+        }
+
+        // @[^-], the negated class takes a whole code point (a surrogate pair counts as one) and anything but '-'
+        i++;
+
+        if (i == length) {
+            return false;
+        }
+
+        int codePoint = Character.codePointAt(value, i);
+
+        if (codePoint == '-') {
+            return false;
+        }
+
+        i += Character.charCount(codePoint);
+
+        // [A-Za-z0-9-]+(\.[A-Za-z0-9-]+)*(\.[A-Za-z]{2,})$, at least two non-empty labels and the last one made of 2 or more letters
+        int completedLabels = 0;
+        int labelLength = 0;
+        boolean alphabeticLabel = true;
+
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+
+            if (c == '.') {
+                if (labelLength == 0) {
+                    return false;
+                }
+
+                completedLabels++;
+                labelLength = 0;
+                alphabeticLabel = true;
+            }
+
+            else if (isLetter(c)) {
+                labelLength++;
+            }
+
+            else if (isDigit(c) || c == '-') {
+                labelLength++;
+                alphabeticLabel = false;
+            }
+
+            else {
+                return false;
+            }
+        }
+
+        return completedLabels > 0 && labelLength >= 2 && alphabeticLabel;
+    }
+
+    // ASCII only, like the character classes of the pattern (Character.isLetter would accept any script)
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLetterOrDigit(char c) {
+        return isLetter(c) || isDigit(c);
+    }
+}
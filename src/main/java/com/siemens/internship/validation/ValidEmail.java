@@ -0,0 +1,22 @@
+package com.siemens.internship.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.*;
+
+// Accepts exactly what ^(?=.{1,64}@)[A-Za-z0-9_-]+(\.[A-Za-z0-9_-]+)*@[^-][A-Za-z0-9-]+(\.[A-Za-z0-9-]+)*(\.[A-Za-z]{2,})$ accepts
+// (the pattern we used to have on the email, copied from here: https://www.baeldung.com/java-email-validation-regex),
+// but checks it in a single pass over the characters instead of running a regular expression
+// Null is valid, like for @Pattern, so it goes together with @NotBlank
+@Documented
+@Constraint(validatedBy = EmailValidator.class)
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER, ElementType.RECORD_COMPONENT, ElementType.TYPE_USE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidEmail {
+    String message() default "The email must follow the 'local_part@domain' pattern (e.g: email@domain.com)";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
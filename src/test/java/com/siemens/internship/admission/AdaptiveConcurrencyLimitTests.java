@@ -0,0 +1,75 @@
+package com.siemens.internship.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class AdaptiveConcurrencyLimitTests {
+    private static final long USUAL_LATENCY = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void testTryAcquire_upToTheLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, 2.0);
+
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isFalse();
+        assertThat(limit.getRejected()).isEqualTo(1);
+
+        limit.release(USUAL_LATENCY);
+
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void testRelease_growsWhileTheLatencyHolds() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, 2.0);
+
+        runAtTheLimit(limit, 50, USUAL_LATENCY);
+
+        assertThat(limit.getLimit()).isEqualTo(100);
+    }
+
+    @Test
+    void testRelease_shrinksOnceTheLatencyGrows() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 5, 50, 2.0);
+
+        runAtTheLimit(limit, 20, USUAL_LATENCY);
+        assertThat(limit.getLimit()).isEqualTo(50);
+
+        // The requests start queueing somewhere and take 10 times as long
+        runAtTheLimit(limit, 20, USUAL_LATENCY * 10);
+
+        assertThat(limit.getLimit()).isLessThan(15);
+    }
+
+    @Test
+    void testRelease_doesNotGrowWhileIdle() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, 2.0);
+
+        for (int i = 0; i < 1000; i++) {
+            limit.tryAcquire();
+            limit.release(USUAL_LATENCY);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(10);
+    }
+
+    // Every round fills the limit, then releases all the requests with the given latency
+    private void runAtTheLimit(AdaptiveConcurrencyLimit limit, int rounds, long latency) {
+        for (int round = 0; round < rounds; round++) {
+            int admitted = 0;
+
+            while (limit.tryAcquire()) {
+                admitted++;
+            }
+
+            for (int i = 0; i < admitted; i++) {
+                limit.release(latency);
+            }
+        }
+    }
+}
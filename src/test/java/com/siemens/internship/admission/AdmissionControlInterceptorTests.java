@@ -0,0 +1,65 @@
+package com.siemens.internship.admission;
+
+import com.siemens.internship.configuration.AdmissionControlProperties;
+import com.siemens.internship.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class AdmissionControlInterceptorTests {
+    private AdmissionControlInterceptor admissionControlInterceptor;
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @BeforeEach
+    void setup() {
+        AdmissionControlProperties admissionControlProperties = new AdmissionControlProperties();
+        admissionControlProperties.setProcess(new AdmissionControlProperties.Limit(1, 1, 1));
+
+        admissionControlInterceptor = new AdmissionControlInterceptor(admissionControlProperties);
+    }
+
+    @Test
+    void testAdmissionClass() {
+        assertThat(AdmissionClass.of(new MockHttpServletRequest("GET", "/api/v1/items/id=1"))).isEqualTo(AdmissionClass.READ);
+        assertThat(AdmissionClass.of(new MockHttpServletRequest("GET", "/api/v1/items/process/jobs/id=1"))).isEqualTo(AdmissionClass.READ);
+        assertThat(AdmissionClass.of(new MockHttpServletRequest("PUT", "/api/v1/items/id=1"))).isEqualTo(AdmissionClass.WRITE);
+        assertThat(AdmissionClass.of(new MockHttpServletRequest("GET", "/api/v1/items/process/chunked"))).isEqualTo(AdmissionClass.PROCESS);
+        assertThat(AdmissionClass.of(new MockHttpServletRequest("POST", "/api/v1/items/import"))).isEqualTo(AdmissionClass.PROCESS);
+    }
+
+    @Test
+    void testPreHandle_overTheLimit() {
+        MockHttpServletRequest first = new MockHttpServletRequest("GET", "/api/v1/items/process/chunked");
+        MockHttpServletRequest second = new MockHttpServletRequest("GET", "/api/v1/items/process/chunked");
+
+        assertThat(admissionControlInterceptor.preHandle(first, response, null)).isTrue();
+        assertThatThrownBy(() -> admissionControlInterceptor.preHandle(second, response, null))
+                .isInstanceOf(ServiceUnavailableException.class);
+
+        // The reads have a limit of their own
+        assertThat(admissionControlInterceptor.preHandle(new MockHttpServletRequest("GET", "/api/v1/items"), response, null)).isTrue();
+
+        admissionControlInterceptor.afterCompletion(first, response, null, null);
+
+        assertThat(admissionControlInterceptor.preHandle(second, response, null)).isTrue();
+    }
+
+    @Test
+    void testPreHandle_asyncDispatchKeepsItsPermit() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/items/process/chunked");
+
+        admissionControlInterceptor.preHandle(request, response, null);
+
+        // The dispatch that writes the result runs through the interceptor again
+        assertThat(admissionControlInterceptor.preHandle(request, response, null)).isTrue();
+        assertThat(admissionControlInterceptor.getLimit(AdmissionClass.PROCESS).getInFlight()).isEqualTo(1);
+
+        admissionControlInterceptor.afterCompletion(request, response, null, null);
+
+        assertThat(admissionControlInterceptor.getLimit(AdmissionClass.PROCESS).getInFlight()).isZero();
+    }
+}
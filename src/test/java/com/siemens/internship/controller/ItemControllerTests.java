@@ -1,23 +1,66 @@
 package com.siemens.internship.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.siemens.internship.exception.PreconditionFailedException;
+import com.siemens.internship.model.ItemBulkOutcome;
+import com.siemens.internship.model.ItemImportFormat;
+import com.siemens.internship.model.ProcessingJobResultOutcome;
+import com.siemens.internship.model.ProcessingJobStatus;
+import com.siemens.internship.request.ItemCursor;
+import com.siemens.internship.request.ItemField;
 import com.siemens.internship.request.ItemRequest;
+import com.siemens.internship.request.ItemUpdateRequest;
+import com.siemens.internship.response.ItemBulkResponse;
+import com.siemens.internship.response.ItemBulkResult;
+import com.siemens.internship.response.ItemCacheStatisticsResponse;
+import com.siemens.internship.response.ItemFieldsSliceResponse;
+import com.siemens.internship.response.ItemImportRejection;
+import com.siemens.internship.response.ItemImportReport;
+import com.siemens.internship.response.ItemProcessingReport;
 import com.siemens.internship.response.ItemResponse;
+import com.siemens.internship.response.ItemSliceResponse;
+import com.siemens.internship.response.ItemStatusCountsResponse;
+import com.siemens.internship.response.ProcessingJobResponse;
+import com.siemens.internship.response.ProcessingJobResultResponse;
+import com.siemens.internship.response.SerializedItemResponse;
+import com.siemens.internship.service.implementation.ItemBulkService;
+import com.siemens.internship.service.implementation.ItemExportService;
+import com.siemens.internship.service.implementation.ItemImportService;
+import com.siemens.internship.service.implementation.ItemSearchService;
 import com.siemens.internship.service.implementation.ItemService;
+import com.siemens.internship.service.implementation.ProcessingJobService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.data.domain.*;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -31,16 +74,38 @@ public class ItemControllerTests {
     @MockBean
     private ItemService itemService;
 
+    @MockBean
+    private ItemBulkService itemBulkService;
+
+    @MockBean
+    private ItemExportService itemExportService;
+
+    @MockBean
+    private ItemImportService itemImportService;
+
+    @MockBean
+    private ItemSearchService itemSearchService;
+
+    @MockBean
+    private ProcessingJobService processingJobService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
     private ItemResponse itemResponse;
     private ItemRequest itemRequest;
+    private ProcessingJobResponse processingJobResponse;
 
     @BeforeEach
     void setUp() {
-        itemResponse = new ItemResponse(1L, "TestItem", "Test description", "NEW", "test@example.com");
+        itemResponse = new ItemResponse(1L, "TestItem", "Test description", "NEW", "test@example.com", 0L);
         itemRequest = new ItemRequest("TestItem", "Test description", "NEW", "test@example.com");
+        processingJobResponse = new ProcessingJobResponse(1L, ProcessingJobStatus.RUNNING, 500, 10, 4, 1, 5, 2.5, null, "2025-01-01T00:00", null);
+    }
+
+    // What the item cache hands out: the item along with its JSON
+    private SerializedItemResponse serialized(ItemResponse item) throws Exception {
+        return new SerializedItemResponse(item, new RawValue(objectMapper.writeValueAsString(item)));
     }
 
     @Test
@@ -54,9 +119,51 @@ public class ItemControllerTests {
                 .andExpect(jsonPath("$.body.content[0].name").value("TestItem"));
     }
 
+    @Test
+    void testGetAllItems_notModified() throws Exception {
+        Page<ItemResponse> page = new PageImpl<>(List.of(itemResponse));
+        when(itemService.findAll(any(Pageable.class))).thenReturn(page);
+
+        String eTag = mockMvc.perform(get("/api/v1/items"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        assertThat(eTag).startsWith("W/\"");
+
+        mockMvc.perform(get("/api/v1/items").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // A newer version of an item on the page changes the ETag
+        when(itemService.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(new ItemResponse(1L, "TestItem", "Test description", "NEW", "test@example.com", 1L))));
+
+        mockMvc.perform(get("/api/v1/items").header("If-None-Match", eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testGetAllItemsByCursor() throws Exception {
+        ItemSliceResponse slice = new ItemSliceResponse(List.of(itemResponse), 1, 1, true, new ItemCursor(1L).encode());
+        when(itemService.findAll(new ItemCursor(0L), 1)).thenReturn(slice);
+
+        mockMvc.perform(get("/api/v1/items").param("cursor", "").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.body.content[0].name").value("TestItem"))
+                .andExpect(jsonPath("$.body.hasNext").value(true))
+                .andExpect(jsonPath("$.body.nextCursor").value(new ItemCursor(1L).encode()))
+                .andExpect(jsonPath("$.body.totalElements").doesNotExist());
+    }
+
+    @Test
+    void testGetAllItemsByCursor_invalidCursor() throws Exception {
+        mockMvc.perform(get("/api/v1/items").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testGetItemById() throws Exception {
-        when(itemService.findById(1L)).thenReturn(itemResponse);
+        when(itemService.findSerializedById(1L)).thenReturn(serialized(itemResponse));
 
         mockMvc.perform(get("/api/v1/items/id=1"))
                 .andExpect(status().isOk())
@@ -64,6 +171,116 @@ public class ItemControllerTests {
                 .andExpect(jsonPath("$.body.name").value("TestItem"));
     }
 
+    @Test
+    void testGetItemById_notModified() throws Exception {
+        when(itemService.findSerializedById(1L)).thenReturn(serialized(itemResponse));
+
+        mockMvc.perform(get("/api/v1/items/id=1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-0\""));
+
+        mockMvc.perform(get("/api/v1/items/id=1").header("If-None-Match", "\"1-0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"1-0\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void testGetItemById_fields() throws Exception {
+        when(itemService.findById(1L, EnumSet.of(ItemField.ID, ItemField.NAME, ItemField.STATUS)))
+                .thenReturn(Map.of("id", 1L, "name", "TestItem", "status", "NEW"));
+
+        mockMvc.perform(get("/api/v1/items/id=1").param("fields", "name, status"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(jsonPath("$.body.name").value("TestItem"))
+                .andExpect(jsonPath("$.body.email").doesNotExist());
+
+        verify(itemService, never()).findSerializedById(1L);
+    }
+
+    @Test
+    void testGetAllItems_fields() throws Exception {
+        when(itemService.findAll(any(Pageable.class), eq(EnumSet.of(ItemField.ID, ItemField.STATUS))))
+                .thenReturn(new PageImpl<>(List.of(Map.of("id", 1L, "status", "NEW"))));
+
+        mockMvc.perform(get("/api/v1/items").param("fields", "status"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(jsonPath("$.body.content[0].status").value("NEW"))
+                .andExpect(jsonPath("$.body.content[0].name").doesNotExist());
+    }
+
+    @Test
+    void testGetAllItemsByCursor_fields() throws Exception {
+        ItemFieldsSliceResponse slice = new ItemFieldsSliceResponse(List.of(Map.of("id", 1L, "name", "TestItem")), 1, 1, true, new ItemCursor(1L).encode());
+        when(itemService.findAll(new ItemCursor(0L), 1, EnumSet.of(ItemField.ID, ItemField.NAME))).thenReturn(slice);
+
+        mockMvc.perform(get("/api/v1/items").param("cursor", "").param("size", "1").param("fields", "id,name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.body.content[0].name").value("TestItem"))
+                .andExpect(jsonPath("$.body.nextCursor").value(new ItemCursor(1L).encode()));
+    }
+
+    @Test
+    void testGetAllItems_unknownField() throws Exception {
+        mockMvc.perform(get("/api/v1/items").param("fields", "name,password"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetItemsByStatus() throws Exception {
+        ItemSliceResponse slice = new ItemSliceResponse(List.of(itemResponse), 10, 1, false, null);
+        when(itemService.findAllByStatus("NEW", ItemCursor.START, 10)).thenReturn(slice);
+
+        mockMvc.perform(get("/api/v1/items/status=NEW"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.body.content[0].status").value("NEW"))
+                .andExpect(jsonPath("$.body.hasNext").value(false));
+    }
+
+    @Test
+    void testGetStatusCounts_notModified() throws Exception {
+        when(itemService.getStatusCounts()).thenReturn(new ItemStatusCountsResponse(5, new TreeMap<>(Map.of("NEW", 3L, "PROCESSED", 2L))));
+
+        String eTag = mockMvc.perform(get("/api/v1/items/statuses"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.body.total").value(5))
+                .andExpect(jsonPath("$.body.counts.PROCESSED").value(2))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/items/statuses").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void testSearchItems() throws Exception {
+        when(itemSearchService.search(Mockito.eq("test"), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(itemResponse)));
+
+        mockMvc.perform(get("/api/v1/items/search").param("q", "test"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.body.content[0].name").value("TestItem"));
+    }
+
+    @Test
+    void testSearchItems_missingQuery() throws Exception {
+        mockMvc.perform(get("/api/v1/items/search"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetCacheStatistics() throws Exception {
+        when(itemService.getCacheStatistics()).thenReturn(new ItemCacheStatisticsResponse(1, 3, 1, 0.75, 1, 0));
+
+        mockMvc.perform(get("/api/v1/items/cache/statistics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.body.hitCount").value(3))
+                .andExpect(jsonPath("$.body.missCount").value(1))
+                .andExpect(jsonPath("$.body.hitRate").value(0.75));
+    }
+
     @Test
     void testCreateItem() throws Exception {
         when(itemService.save(any(ItemRequest.class))).thenReturn(itemResponse);
@@ -79,7 +296,7 @@ public class ItemControllerTests {
 
     @Test
     void testUpdateItem() throws Exception {
-        when(itemService.updateById(Mockito.eq(1L), any(ItemRequest.class))).thenReturn(itemResponse);
+        when(itemService.updateById(Mockito.eq(1L), any(ItemRequest.class), Mockito.isNull())).thenReturn(itemResponse);
 
         mockMvc.perform(put("/api/v1/items/id=1")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -89,6 +306,78 @@ public class ItemControllerTests {
                 .andExpect(jsonPath("$.body.name").value("TestItem"));
     }
 
+    @Test
+    void testUpdateItem_writeBehind() throws Exception {
+        when(itemService.isWriteBehindEnabled()).thenReturn(true);
+        when(itemService.bufferUpdateById(Mockito.eq(1L), any(ItemRequest.class)))
+                .thenReturn(new ItemResponse(1L, "TestItem", "Test description", "NEW", "test@example.com", null));
+
+        mockMvc.perform(put("/api/v1/items/id=1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(itemRequest)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(jsonPath("$.body.name").value("TestItem"));
+
+        verify(itemService, never()).updateById(any(), any(), any());
+    }
+
+    @Test
+    void testUpdateItem_ifMatch() throws Exception {
+        ItemResponse updatedResponse = new ItemResponse(1L, "TestItem", "Test description", "NEW", "test@example.com", 1L);
+        when(itemService.updateById(Mockito.eq(1L), any(ItemRequest.class), Mockito.eq(0L))).thenReturn(updatedResponse);
+
+        mockMvc.perform(put("/api/v1/items/id=1")
+                        .header("If-Match", "\"1-0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(itemRequest)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-1\""));
+    }
+
+    @Test
+    void testUpdateItem_ifMatchWriteBehind() throws Exception {
+        ItemResponse updatedResponse = new ItemResponse(1L, "TestItem", "Test description", "NEW", "test@example.com", 2L);
+        when(itemService.isWriteBehindEnabled()).thenReturn(true);
+        when(itemService.updateById(Mockito.eq(1L), any(ItemRequest.class), Mockito.eq(1L))).thenReturn(updatedResponse);
+
+        mockMvc.perform(put("/api/v1/items/id=1")
+                        .header("If-Match", "\"1-1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(itemRequest)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-2\""));
+
+        // The update buffered before it is written first, so the next flush can't overwrite this one
+        InOrder inOrder = Mockito.inOrder(itemService);
+        inOrder.verify(itemService).flushBufferedUpdateById(1L);
+        inOrder.verify(itemService).updateById(Mockito.eq(1L), any(ItemRequest.class), Mockito.eq(1L));
+        verify(itemService, never()).bufferUpdateById(any(), any());
+    }
+
+    @Test
+    void testUpdateItem_ifMatchStale() throws Exception {
+        when(itemService.updateById(Mockito.eq(1L), any(ItemRequest.class), Mockito.eq(0L)))
+                .thenThrow(new PreconditionFailedException("The item by the provided id (1) has been modified in the meantime"));
+
+        mockMvc.perform(put("/api/v1/items/id=1")
+                        .header("If-Match", "\"1-0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(itemRequest)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void testUpdateItem_ifMatchOtherItem() throws Exception {
+        mockMvc.perform(put("/api/v1/items/id=1")
+                        .header("If-Match", "\"2-0\", W/\"1-0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(itemRequest)))
+                .andExpect(status().isPreconditionFailed());
+
+        Mockito.verifyNoInteractions(itemService);
+    }
+
     @Test
     void testDeleteItem() throws Exception {
         mockMvc.perform(delete("/api/v1/items/id=1"))
@@ -97,19 +386,197 @@ public class ItemControllerTests {
     }
 
     @Test
-    void testProcessItemsAsync() throws Exception {
-        ItemResponse itemResponse = new ItemResponse(1L, "TestItem", "Test description", "PROCESSED", "test@example.com");
+    void testProcessItems() throws Exception {
+        when(processingJobService.start()).thenReturn(processingJobResponse);
+
+        mockMvc.perform(get("/api/v1/items/process"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/v1/items/process/jobs/id=1"))
+                .andExpect(jsonPath("$.responseMessage").value("The processing job has been started successfully"))
+                .andExpect(jsonPath("$.body.id").value(1))
+                .andExpect(jsonPath("$.body.status").value("RUNNING"));
+    }
+
+    @Test
+    void testProcessItemsInChunksAsync_executorSaturated() throws Exception {
+        when(itemService.processItemsInChunksAsync()).thenThrow(new TaskRejectedException("Executor [taskExecutor] did not accept task"));
+
+        mockMvc.perform(get("/api/v1/items/process/chunked"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.errorCode").value(503));
+    }
+
+    @Test
+    void testGetProcessingJobById() throws Exception {
+        when(processingJobService.findById(1L)).thenReturn(processingJobResponse);
 
-        when(itemService.processItemsAsync()).thenReturn(CompletableFuture.completedFuture(List.of(itemResponse)));
+        mockMvc.perform(get("/api/v1/items/process/jobs/id=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.responseMessage").value("The processing job has been found successfully"))
+                .andExpect(jsonPath("$.body.processedItems").value(4))
+                .andExpect(jsonPath("$.body.failedItems").value(1))
+                .andExpect(jsonPath("$.body.remainingItems").value(5));
+    }
+
+    @Test
+    void testGetProcessingJobResultsById() throws Exception {
+        Page<ProcessingJobResultResponse> page = new PageImpl<>(List.of(new ProcessingJobResultResponse(1L, ProcessingJobResultOutcome.PROCESSED)));
+        when(processingJobService.findResultsById(Mockito.eq(1L), any(Pageable.class))).thenReturn(page);
+
+        mockMvc.perform(get("/api/v1/items/process/jobs/id=1/results"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.body.content[0].itemId").value(1))
+                .andExpect(jsonPath("$.body.content[0].outcome").value("PROCESSED"));
+    }
+
+    @Test
+    void testCancelProcessingJobById() throws Exception {
+        ProcessingJobResponse cancelledJob = new ProcessingJobResponse(1L, ProcessingJobStatus.CANCELLED, 500, 10, 4, 1, 5, 2.5, null, "2025-01-01T00:00", "2025-01-01T00:00:02");
+        when(processingJobService.cancelById(1L)).thenReturn(cancelledJob);
+
+        mockMvc.perform(delete("/api/v1/items/process/jobs/id=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.responseMessage").value("The processing job has been cancelled successfully"))
+                .andExpect(jsonPath("$.body.status").value("CANCELLED"));
+    }
 
-        var mvcResult = mockMvc.perform(get("/api/v1/items/process"))
+    @Test
+    void testProcessItemsInChunksAsync() throws Exception {
+        ItemProcessingReport report = new ItemProcessingReport(500, 1, 10, 0, 200, 50.0);
+
+        when(itemService.processItemsInChunksAsync()).thenReturn(CompletableFuture.completedFuture(report));
+
+        var mvcResult = mockMvc.perform(get("/api/v1/items/process/chunked"))
                 .andExpect(request().asyncStarted())
                 .andReturn();
 
         mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isAccepted())
-                .andExpect(jsonPath("$.responseMessage").value("The items were processed successfully"))
-                .andExpect(jsonPath("$.body[0].name").value("TestItem"))
-                .andExpect(jsonPath("$.body[0].status").value("PROCESSED"));
+                .andExpect(jsonPath("$.body.chunkSize").value(500))
+                .andExpect(jsonPath("$.body.processedItems").value(10))
+                .andExpect(jsonPath("$.body.itemsPerSecond").value(50.0));
+    }
+
+    @Test
+    void testCreateItems() throws Exception {
+        ItemBulkResponse bulkResponse = new ItemBulkResponse(2, 1, 1, List.of(
+                new ItemBulkResult(0, 1L, ItemBulkOutcome.CREATED, null),
+                new ItemBulkResult(1, null, ItemBulkOutcome.CONFLICT, "An item with this name (TestItem) already exists")
+        ));
+        when(itemBulkService.saveAll(List.of(itemRequest, itemRequest))).thenReturn(bulkResponse);
+
+        mockMvc.perform(post("/api/v1/items/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(itemRequest, itemRequest))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.body.succeededItems").value(1))
+                .andExpect(jsonPath("$.body.results[0].outcome").value("CREATED"))
+                .andExpect(jsonPath("$.body.results[1].outcome").value("CONFLICT"));
+    }
+
+    @Test
+    void testUpdateItems() throws Exception {
+        ItemBulkResponse bulkResponse = new ItemBulkResponse(1, 1, 0, List.of(new ItemBulkResult(0, 1L, ItemBulkOutcome.UPDATED, null)));
+        when(itemBulkService.updateAll(List.of(new ItemUpdateRequest(1L, itemRequest)))).thenReturn(bulkResponse);
+
+        mockMvc.perform(put("/api/v1/items/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(new ItemUpdateRequest(1L, itemRequest)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.body.results[0].id").value(1))
+                .andExpect(jsonPath("$.body.results[0].outcome").value("UPDATED"));
+    }
+
+    @Test
+    void testDeleteItems() throws Exception {
+        ItemBulkResponse bulkResponse = new ItemBulkResponse(2, 1, 1, List.of(
+                new ItemBulkResult(0, 1L, ItemBulkOutcome.DELETED, null),
+                new ItemBulkResult(1, 2L, ItemBulkOutcome.NOT_FOUND, "The item by the provided id (2) couldn't be found")
+        ));
+        when(itemBulkService.deleteAllById(List.of(1L, 2L))).thenReturn(bulkResponse);
+
+        mockMvc.perform(delete("/api/v1/items/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 2]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.body.failedItems").value(1))
+                .andExpect(jsonPath("$.body.results[1].outcome").value("NOT_FOUND"));
+    }
+
+    @Test
+    void testExportItems() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(itemExportService).exportAll(any(OutputStream.class));
+
+        mockMvc.perform(get("/api/v1/items/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(content().string("{\"id\":1}\n"));
+    }
+
+    @Test
+    void testExportItems_gzip() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(itemExportService).exportAll(any(OutputStream.class));
+
+        byte[] body = mockMvc.perform(get("/api/v1/items/export").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertThat(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("{\"id\":1}\n");
+        }
+    }
+
+    @Test
+    void testImportItems_ndjson() throws Exception {
+        ItemImportReport report = new ItemImportReport(2, 1, 1, 10, 200.0, List.of(new ItemImportRejection(2, "email: The email is required")), false);
+        when(itemImportService.importAll(any(InputStream.class), eq(ItemImportFormat.NDJSON))).thenReturn(report);
+
+        mockMvc.perform(post("/api/v1/items/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{}\n{}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.body.acceptedRows").value(1))
+                .andExpect(jsonPath("$.body.rejections[0].line").value(2))
+                .andExpect(jsonPath("$.body.rejections[0].reason").value("email: The email is required"));
+    }
+
+    @Test
+    void testImportItems_gzippedCsv() throws Exception {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+        try (GZIPOutputStream outputStream = new GZIPOutputStream(compressed)) {
+            outputStream.write("name,description,status,email\n".getBytes(StandardCharsets.UTF_8));
+        }
+
+        when(itemImportService.importAll(any(InputStream.class), eq(ItemImportFormat.CSV))).thenAnswer(invocation -> {
+            String upload = new String(invocation.<InputStream>getArgument(0).readAllBytes(), StandardCharsets.UTF_8);
+            return new ItemImportReport(upload.lines().count(), 0, 0, 1, 0.0, List.of(), false);
+        });
+
+        mockMvc.perform(post("/api/v1/items/import")
+                        .contentType("text/csv")
+                        .header("Content-Encoding", "gzip")
+                        .content(compressed.toByteArray()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.body.totalRows").value(1));
+    }
+
+    @Test
+    void testImportItems_unsupportedFormat() throws Exception {
+        mockMvc.perform(post("/api/v1/items/import")
+                        .contentType(MediaType.APPLICATION_XML)
+                        .content("<items/>"))
+                .andExpect(status().isUnsupportedMediaType());
     }
 }
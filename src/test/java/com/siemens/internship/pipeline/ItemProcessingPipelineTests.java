@@ -0,0 +1,208 @@
+package com.siemens.internship.pipeline;
+
+import com.siemens.internship.configuration.AsynchronousProperties;
+import com.siemens.internship.configuration.ItemProcessingProperties;
+import com.siemens.internship.event.ItemsChangedEvent;
+import com.siemens.internship.metrics.ItemProcessingMetrics;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.service.implementation.ItemBulkWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ItemProcessingPipelineTests {
+    @Mock
+    private ItemBulkWriter itemBulkWriter;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    private final ItemProcessingProperties itemProcessingProperties = new ItemProcessingProperties();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final List<List<Long>> writtenBatches = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+
+        // Writes every item it is given
+        when(itemBulkWriter.writeAll(anyList())).thenAnswer(invocation -> {
+            List<Item> items = invocation.getArgument(0);
+
+            synchronized (writtenBatches) {
+                writtenBatches.add(items.stream().map(Item::getId).toList());
+            }
+
+            return items;
+        });
+    }
+
+    @Test
+    void testProcess_writesTheProcessedItemsInBatches() {
+        itemProcessingProperties.getPipeline().setBatchSize(2);
+
+        List<Item> items = items(5);
+        items.get(2).setName("Fail");
+
+        List<Item> result = pipeline(new ItemTransformStage(), new FailingStage()).process(items);
+
+        assertThat(result).extracting(Item::getId).containsExactly(1L, 2L, 4L, 5L);
+        assertThat(result).allSatisfy(item -> assertThat(item.getStatus()).isEqualTo("PROCESSED"));
+        assertThat(writtenBatches).allSatisfy(batch -> assertThat(batch).hasSizeBetween(1, 2));
+        assertThat(writtenBatches.stream().flatMap(List::stream)).containsExactlyInAnyOrder(1L, 2L, 4L, 5L);
+        verify(applicationEventPublisher, times(writtenBatches.size())).publishEvent(any(ItemsChangedEvent.class));
+
+        assertThat(meterRegistry.get("item.pipeline.stage").tags("stage", "transform", "outcome", "processed").timer().count()).isEqualTo(5);
+        assertThat(meterRegistry.get("item.pipeline.stage").tags("stage", "failing", "outcome", "failed").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("item.pipeline.stage").tags("stage", "persist", "outcome", "processed").timer().count()).isEqualTo(writtenBatches.size());
+        assertThat(meterRegistry.get("item.pipeline.queue.wait").tag("stage", "persist").timer().count()).isEqualTo(4);
+        assertThat(meterRegistry.get("item.processing").tag("outcome", "processed").timer().count()).isEqualTo(4);
+        assertThat(meterRegistry.get("item.processing").tag("outcome", "failed").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testProcess_itemsThatCantBeWrittenFail() {
+        ItemProcessingPipeline pipeline = pipeline(new ItemTransformStage());
+
+        // The second item was changed by someone else meanwhile
+        when(itemBulkWriter.writeAll(anyList())).thenAnswer(invocation -> invocation.<List<Item>>getArgument(0)
+                .stream()
+                .filter(item -> item.getId() != 2L)
+                .toList());
+
+        assertThat(pipeline.process(items(2))).extracting(Item::getId).containsExactly(1L);
+        verify(applicationEventPublisher).publishEvent(new ItemsChangedEvent(List.of(1L), List.of("Item1")));
+
+        // Then the database goes away
+        when(itemBulkWriter.writeAll(anyList())).thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        assertThat(pipeline.process(items(2))).isEmpty();
+        verifyNoMoreInteractions(applicationEventPublisher);
+        assertThat(meterRegistry.get("item.processing").tag("outcome", "failed").timer().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("item.pipeline.stage").tags("stage", "persist", "outcome", "failed").timer().count()).isPositive();
+    }
+
+    @Test
+    void testProcess_aBatchThatFailsOutsideOfTheDataAccessStillEndsTheProcessing() {
+        // Small queues, so the stages before the persist stage block on them while it fails
+        stage("transform").setQueueCapacity(1);
+        stage(ItemProcessingPipeline.PERSIST_STAGE).setQueueCapacity(1);
+        itemProcessingProperties.getPipeline().setBatchSize(1);
+
+        when(itemBulkWriter.writeAll(anyList())).thenThrow(new CannotCreateTransactionException("Could not open JPA EntityManager for transaction"));
+
+        List<Item> result = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> pipeline(new ItemTransformStage()).process(items(20)));
+
+        assertThat(result).isEmpty();
+        verifyNoInteractions(applicationEventPublisher);
+        assertThat(meterRegistry.get("item.processing").tag("outcome", "failed").timer().count()).isEqualTo(20);
+    }
+
+    @Test
+    void testProcess_runsTheWorkersOfAStageConcurrently() {
+        stage("concurrent").setParallelism(4);
+
+        // Only lets the items through once 4 of them are in the stage at the same time
+        CyclicBarrier barrier = new CyclicBarrier(4);
+
+        ItemProcessingStage concurrentStage = new NamedStage("concurrent") {
+            @Override
+            public void process(Item item) throws Exception {
+                barrier.await(5, TimeUnit.SECONDS);
+            }
+        };
+
+        assertThat(pipeline(concurrentStage).process(items(8))).hasSize(8);
+        assertThat(meterRegistry.get("item.pipeline.stage").tags("stage", "concurrent", "outcome", "failed").timer().count()).isZero();
+    }
+
+    @Test
+    void testProcess_aSlowStageHoldsBackTheStagesBeforeIt() {
+        stage("slow").setQueueCapacity(2);
+
+        AtomicInteger passedFast = new AtomicInteger();
+        AtomicInteger passedSlow = new AtomicInteger();
+        AtomicInteger maximumBetween = new AtomicInteger();
+
+        ItemProcessingStage fastStage = new NamedStage("fast") {
+            @Override
+            public void process(Item item) {
+                maximumBetween.accumulateAndGet(passedFast.incrementAndGet() - passedSlow.get(), Math::max);
+            }
+        };
+
+        ItemProcessingStage slowStage = new NamedStage("slow") {
+            @Override
+            public void process(Item item) throws InterruptedException {
+                TimeUnit.MILLISECONDS.sleep(2);
+                passedSlow.incrementAndGet();
+            }
+        };
+
+        assertThat(pipeline(fastStage, slowStage).process(items(50))).hasSize(50);
+
+        // The queue of the slow stage, the item it works on and the one the fast stage waits to hand over
+        assertThat(maximumBetween.get()).isLessThanOrEqualTo(4);
+    }
+
+    private ItemProcessingPipeline pipeline(ItemProcessingStage... stages) {
+        return new ItemProcessingPipeline(List.of(stages), itemBulkWriter, itemProcessingProperties, new AsynchronousProperties(),
+                new ItemProcessingMetrics(meterRegistry), applicationEventPublisher, meterRegistry);
+    }
+
+    private ItemProcessingProperties.Stage stage(String name) {
+        return itemProcessingProperties.getPipeline().getStages().computeIfAbsent(name, key -> new ItemProcessingProperties.Stage());
+    }
+
+    private static List<Item> items(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> Item.builder().id(id).name("Item" + id).status("NEW").version(0L).build())
+                .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+    }
+
+    private abstract static class NamedStage implements ItemProcessingStage {
+        private final String name;
+
+        NamedStage(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+
+    // Fails the items named "Fail"
+    private static class FailingStage extends NamedStage {
+        FailingStage() {
+            super("failing");
+        }
+
+        @Override
+        public void process(Item item) {
+            if (item.getName().equals("Fail")) {
+                throw new IllegalStateException("Failed on purpose");
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.siemens.internship.search;
+
+import com.siemens.internship.configuration.ItemNameFilterProperties;
+import com.siemens.internship.event.ItemsChangedEvent;
+import com.siemens.internship.repository.ItemNameView;
+import com.siemens.internship.repository.ItemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ItemNameFilterTests {
+    @Mock
+    private ItemRepository itemRepository;
+
+    private final ItemNameFilterProperties itemNameFilterProperties = new ItemNameFilterProperties();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ItemNameFilter itemNameFilter;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+
+        itemNameFilterProperties.setExpectedNames(1000);
+
+        when(itemRepository.findNamesByIdGreaterThan(eq(0L), any(Limit.class)))
+                .thenReturn(List.of(new ItemNameView(1L, "firstitem"), new ItemNameView(2L, "seconditem"), new ItemNameView(3L, null)));
+
+        itemNameFilter = new ItemNameFilter(itemRepository, itemNameFilterProperties, meterRegistry);
+    }
+
+    @Test
+    void testMightContain_beforeTheFilterIsBuilt() {
+        // Every name is a possible conflict until the names have been read
+        assertThat(itemNameFilter.mightContainAll(List.of("firstitem", "newitem", "firstitem"))).containsExactly("firstitem", "newitem");
+        assertThat(meterRegistry.get("item.name.filter.lookups.skipped").counter().count()).isZero();
+    }
+
+    @Test
+    void testRebuild() {
+        itemNameFilter.rebuild();
+
+        assertThat(itemNameFilter.mightContain("firstitem")).isTrue();
+        assertThat(itemNameFilter.mightContain("seconditem")).isTrue();
+        assertThat(itemNameFilter.mightContainAll(List.of("firstitem", "newitem"))).containsExactly("firstitem");
+        assertThat(meterRegistry.get("item.name.filter.lookups.skipped").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("item.name.filter.names").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void testRebuild_pagesThroughTheNames() {
+        List<ItemNameView> firstPage = IntStream.rangeClosed(1, 1000).mapToObj(id -> new ItemNameView((long) id, "item" + id)).toList();
+
+        when(itemRepository.findNamesByIdGreaterThan(eq(0L), any(Limit.class))).thenReturn(firstPage);
+        when(itemRepository.findNamesByIdGreaterThan(eq(1000L), any(Limit.class))).thenReturn(List.of(new ItemNameView(1001L, "item1001")));
+
+        itemNameFilter.rebuild();
+
+        // A Bloom filter never forgets a name it was given
+        assertThat(IntStream.rangeClosed(1, 1001)).allSatisfy(id -> assertThat(itemNameFilter.mightContain("item" + id)).isTrue());
+    }
+
+    @Test
+    void testOnItemsChanged_addsTheWrittenNames() {
+        itemNameFilter.rebuild();
+
+        // The third item is gone, its name (if it had one) just stays in the filter
+        itemNameFilter.onItemsChanged(new ItemsChangedEvent(List.of(1L, 4L), List.of("RenamedItem", "NewItem")));
+        itemNameFilter.onItemsChanged(new ItemsChangedEvent(List.of(3L)));
+
+        assertThat(itemNameFilter.mightContainAll(List.of("firstitem", "renameditem", "newitem"))).containsExactly("firstitem", "renameditem", "newitem");
+
+        // The names come with the event, nothing is read back
+        verify(itemRepository).findNamesByIdGreaterThan(eq(0L), any(Limit.class));
+        verifyNoMoreInteractions(itemRepository);
+    }
+
+    @Test
+    void testOnItemsChanged_duringARebuild() {
+        itemNameFilter.rebuild();
+
+        // An item is created while the second rebuild reads the table, after its page has been read
+        when(itemRepository.findNamesByIdGreaterThan(eq(0L), any(Limit.class))).thenAnswer(invocation -> {
+            itemNameFilter.onItemsChanged(new ItemsChangedEvent(List.of(4L), List.of("NewItem")));
+            return List.of(new ItemNameView(1L, "firstitem"));
+        });
+
+        itemNameFilter.rebuild();
+
+        // The name went into the old bits, and into the new ones too
+        assertThat(itemNameFilter.mightContainAll(List.of("firstitem", "newitem", "seconditem"))).containsExactly("firstitem", "newitem");
+    }
+
+    @Test
+    void testFalsePositiveRate() {
+        itemNameFilterProperties.setExpectedNames(10_000);
+        when(itemRepository.findNamesByIdGreaterThan(eq(0L), any(Limit.class)))
+                .thenReturn(IntStream.range(0, 10_000).mapToObj(id -> new ItemNameView((long) id, "item" + id)).toList())
+                .thenReturn(List.of());
+
+        itemNameFilter.rebuild();
+
+        List<String> possibleNames = itemNameFilter.mightContainAll(IntStream.range(0, 100_000).mapToObj(id -> "newitem" + id).toList());
+        itemNameFilter.recordLookups(possibleNames.size(), 0);
+
+        // Sized for 1% at 10 000 names, give or take
+        assertThat(possibleNames.size()).isBetween(500, 1500);
+        assertThat(meterRegistry.get("item.name.filter.false.positive.rate").gauge().value()).isBetween(0.005, 0.015);
+        assertThat(meterRegistry.get("item.name.filter.expected.false.positive.rate").gauge().value()).isBetween(0.005, 0.015);
+        assertThat(meterRegistry.get("item.name.filter.false.positives").counter().count()).isEqualTo(possibleNames.size());
+    }
+
+    @Test
+    void testDisabled() {
+        itemNameFilterProperties.setEnabled(false);
+
+        itemNameFilter.rebuild();
+
+        verifyNoInteractions(itemRepository);
+        assertThat(itemNameFilter.mightContainAll(List.of("newitem"))).containsExactly("newitem");
+    }
+}
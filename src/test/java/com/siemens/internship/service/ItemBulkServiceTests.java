@@ -0,0 +1,222 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.configuration.ItemBulkProperties;
+import com.siemens.internship.event.ItemsChangedEvent;
+import com.siemens.internship.exception.BadRequestException;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemBulkOutcome;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.request.ItemRequest;
+import com.siemens.internship.request.ItemUpdateRequest;
+import com.siemens.internship.response.ItemBulkResponse;
+import com.siemens.internship.response.ItemBulkResult;
+import com.siemens.internship.search.ItemNameFilter;
+import com.siemens.internship.service.implementation.ItemBulkService;
+import com.siemens.internship.service.implementation.ItemBulkWriter;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.sql.SQLException;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ItemBulkServiceTests {
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private ItemBulkWriter itemBulkWriter;
+
+    @Mock
+    private ItemNameFilter itemNameFilter;
+
+    @Spy
+    private ItemBulkProperties itemBulkProperties = new ItemBulkProperties();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @InjectMocks
+    private ItemBulkService itemBulkService;
+
+    private ItemRequest firstRequest;
+    private ItemRequest secondRequest;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+
+        firstRequest = new ItemRequest("FirstItem", "Description", "NEW", "test@example.com");
+        secondRequest = new ItemRequest("SecondItem", "Description", "NEW", "test@example.com");
+
+        // Unless a test says otherwise, the filter can't rule out any name
+        when(itemNameFilter.mightContainAll(anyCollection()))
+                .thenAnswer(invocation -> new ArrayList<>(new LinkedHashSet<>(invocation.<Collection<String>>getArgument(0))));
+    }
+
+    @Test
+    void testSaveAll_created() {
+        when(itemRepository.findByNormalizedNameIn(anyCollection())).thenReturn(List.of());
+        when(itemBulkWriter.insertAll(List.of(firstRequest, secondRequest))).thenReturn(List.of(1L, 2L));
+
+        ItemBulkResponse response = itemBulkService.saveAll(List.of(firstRequest, secondRequest));
+
+        assertThat(response.succeededItems()).isEqualTo(2);
+        assertThat(response.results()).extracting(ItemBulkResult::id).containsExactly(1L, 2L);
+        assertThat(response.results()).extracting(ItemBulkResult::outcome).containsOnly(ItemBulkOutcome.CREATED);
+        // The names of the whole chunk are checked with a single query
+        verify(itemRepository, times(1)).findByNormalizedNameIn(List.of("firstitem", "seconditem"));
+    }
+
+    @Test
+    void testSaveAll_namesRuledOutByTheFilterArentLookedUp() {
+        when(itemNameFilter.mightContainAll(List.of("firstitem", "seconditem"))).thenReturn(List.of("seconditem"));
+        when(itemRepository.findByNormalizedNameIn(List.of("seconditem"))).thenReturn(List.of());
+        when(itemBulkWriter.insertAll(List.of(firstRequest, secondRequest))).thenReturn(List.of(1L, 2L));
+
+        assertThat(itemBulkService.saveAll(List.of(firstRequest, secondRequest)).succeededItems()).isEqualTo(2);
+        // The second name got past the filter although it's free
+        verify(itemNameFilter).recordLookups(1, 0);
+
+        // Once the filter rules out every name, the database isn't asked at all
+        when(itemNameFilter.mightContainAll(anyCollection())).thenReturn(List.of());
+
+        assertThat(itemBulkService.saveAll(List.of(firstRequest, secondRequest)).succeededItems()).isEqualTo(2);
+        verify(itemRepository, times(1)).findByNormalizedNameIn(anyCollection());
+    }
+
+    @Test
+    void testSaveAll_invalidAndConflicts() {
+        ItemRequest invalidRequest = new ItemRequest("", "Description", "NEW", "not-an-email");
+        ItemRequest duplicateRequest = new ItemRequest("FIRSTITEM", "Description", "NEW", "test@example.com");
+        Item existingItem = Item.builder().id(7L).name("SecondItem").normalizedName("seconditem").build();
+
+        when(itemRepository.findByNormalizedNameIn(anyCollection())).thenReturn(List.of(existingItem));
+        when(itemBulkWriter.insertAll(List.of(firstRequest))).thenReturn(List.of(1L));
+
+        ItemBulkResponse response = itemBulkService.saveAll(List.of(firstRequest, invalidRequest, secondRequest, duplicateRequest));
+
+        assertThat(response.succeededItems()).isEqualTo(1);
+        assertThat(response.failedItems()).isEqualTo(3);
+        assertThat(response.results()).extracting(ItemBulkResult::outcome).containsExactly(
+                ItemBulkOutcome.CREATED, ItemBulkOutcome.INVALID, ItemBulkOutcome.CONFLICT, ItemBulkOutcome.CONFLICT);
+        assertThat(response.results().get(1).message()).contains("email").contains("name");
+    }
+
+    @Test
+    void testSaveAll_chunkViolationFallsBackToSingleInserts() {
+        DataIntegrityViolationException nameConflict = new DataIntegrityViolationException("Conflict",
+                new SQLException("Unique index or primary key violation: \"PUBLIC.UK_ITEMS_NORMALIZED_NAME_INDEX_5\""));
+
+        when(itemRepository.findByNormalizedNameIn(anyCollection())).thenReturn(List.of());
+        when(itemBulkWriter.insertAll(List.of(firstRequest, secondRequest))).thenThrow(nameConflict);
+        when(itemBulkWriter.insertAll(List.of(firstRequest))).thenReturn(List.of(1L));
+        when(itemBulkWriter.insertAll(List.of(secondRequest))).thenThrow(nameConflict);
+
+        ItemBulkResponse response = itemBulkService.saveAll(List.of(firstRequest, secondRequest));
+
+        assertThat(response.results()).extracting(ItemBulkResult::outcome).containsExactly(ItemBulkOutcome.CREATED, ItemBulkOutcome.CONFLICT);
+    }
+
+    @Test
+    void testSaveAll_chunked() {
+        itemBulkProperties.setChunkSize(1);
+
+        when(itemRepository.findByNormalizedNameIn(anyCollection())).thenReturn(List.of());
+        when(itemBulkWriter.insertAll(List.of(firstRequest))).thenReturn(List.of(1L));
+        when(itemBulkWriter.insertAll(List.of(secondRequest))).thenReturn(List.of(2L));
+
+        ItemBulkResponse response = itemBulkService.saveAll(List.of(firstRequest, secondRequest));
+
+        assertThat(response.succeededItems()).isEqualTo(2);
+        verify(itemBulkWriter, times(2)).insertAll(anyList());
+    }
+
+    @Test
+    void testSaveAll_tooManyItems() {
+        itemBulkProperties.setMaximumItems(1);
+
+        assertThatThrownBy(() -> itemBulkService.saveAll(List.of(firstRequest, secondRequest)))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void testUpdateAll_updatedAndNotFound() {
+        Item ownItem = Item.builder().id(1L).name("FirstItem").normalizedName("firstitem").build();
+
+        when(itemRepository.findByNormalizedNameIn(anyCollection())).thenReturn(List.of(ownItem));
+        when(itemBulkWriter.updateAll(Map.of(1L, firstRequest, 2L, secondRequest))).thenReturn(List.of(1L));
+
+        ItemBulkResponse response = itemBulkService.updateAll(List.of(
+                new ItemUpdateRequest(1L, firstRequest),
+                new ItemUpdateRequest(2L, secondRequest),
+                new ItemUpdateRequest(1L, secondRequest)
+        ));
+
+        // Keeping its own name is not a conflict for the first item
+        assertThat(response.results()).extracting(ItemBulkResult::outcome).containsExactly(
+                ItemBulkOutcome.UPDATED, ItemBulkOutcome.NOT_FOUND, ItemBulkOutcome.INVALID);
+        verify(applicationEventPublisher).publishEvent(new ItemsChangedEvent(List.of(1L), List.of("FirstItem")));
+    }
+
+    @Test
+    void testUpdateAll_nameTakenByAnotherItem() {
+        Item otherItem = Item.builder().id(2L).name("SecondItem").normalizedName("seconditem").build();
+
+        when(itemRepository.findByNormalizedNameIn(anyCollection())).thenReturn(List.of(otherItem));
+
+        ItemBulkResponse response = itemBulkService.updateAll(List.of(new ItemUpdateRequest(1L, secondRequest)));
+
+        assertThat(response.results()).extracting(ItemBulkResult::outcome).containsExactly(ItemBulkOutcome.CONFLICT);
+        verify(itemBulkWriter, never()).updateAll(anyMap());
+        verify(applicationEventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testUpdateAll_concurrentUpdateFallsBackToSingleUpdates() {
+        when(itemRepository.findByNormalizedNameIn(anyCollection())).thenReturn(List.of());
+        when(itemBulkWriter.updateAll(Map.of(1L, firstRequest, 2L, secondRequest)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Item.class, 2L));
+        when(itemBulkWriter.updateAll(Map.of(1L, firstRequest))).thenReturn(List.of(1L));
+        when(itemBulkWriter.updateAll(Map.of(2L, secondRequest))).thenThrow(new ObjectOptimisticLockingFailureException(Item.class, 2L));
+
+        ItemBulkResponse response = itemBulkService.updateAll(List.of(
+                new ItemUpdateRequest(1L, firstRequest),
+                new ItemUpdateRequest(2L, secondRequest)
+        ));
+
+        // Only the item that was updated by someone else meanwhile fails
+        assertThat(response.results()).extracting(ItemBulkResult::outcome).containsExactly(ItemBulkOutcome.UPDATED, ItemBulkOutcome.CONFLICT);
+        assertThat(response.results().get(1).message()).contains("modified in the meantime");
+        verify(applicationEventPublisher).publishEvent(new ItemsChangedEvent(List.of(1L), List.of("FirstItem")));
+    }
+
+    @Test
+    void testDeleteAllById() {
+        when(itemBulkWriter.deleteAllById(List.of(1L, 2L))).thenReturn(List.of(1L));
+
+        ItemBulkResponse response = itemBulkService.deleteAllById(Arrays.asList(1L, 2L, null, 1L));
+
+        assertThat(response.results()).extracting(ItemBulkResult::outcome).containsExactly(
+                ItemBulkOutcome.DELETED, ItemBulkOutcome.NOT_FOUND, ItemBulkOutcome.INVALID, ItemBulkOutcome.INVALID);
+        verify(applicationEventPublisher).publishEvent(new ItemsChangedEvent(List.of(1L)));
+    }
+
+    @Test
+    void testDeleteAllById_empty() {
+        assertThatThrownBy(() -> itemBulkService.deleteAllById(List.of()))
+                .isInstanceOf(BadRequestException.class);
+    }
+}
@@ -0,0 +1,160 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.configuration.AsynchronousProperties;
+import com.siemens.internship.configuration.ItemProcessingProperties;
+import com.siemens.internship.event.ItemsChangedEvent;
+import com.siemens.internship.metrics.ItemProcessingMetrics;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.pipeline.ItemProcessingPipeline;
+import com.siemens.internship.pipeline.ItemProcessingStage;
+import com.siemens.internship.pipeline.ItemTransformStage;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.service.implementation.ItemBulkWriter;
+import com.siemens.internship.service.implementation.ItemChunkProcessor;
+import com.siemens.internship.service.implementation.ItemChunkResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ItemChunkProcessorTests {
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Spy
+    private ItemProcessingProperties itemProcessingProperties = new ItemProcessingProperties();
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private ItemProcessingMetrics itemProcessingMetrics = new ItemProcessingMetrics(meterRegistry);
+
+    // Writes every item it is given
+    private final ItemBulkWriter itemBulkWriter = mock(ItemBulkWriter.class);
+
+    // Only the status change, then the persist stage
+    @Spy
+    private ItemProcessingPipeline itemProcessingPipeline = new ItemProcessingPipeline(List.of(new ItemTransformStage(), new FailingStage()),
+            itemBulkWriter, itemProcessingProperties, new AsynchronousProperties(), itemProcessingMetrics, mock(ApplicationEventPublisher.class), meterRegistry);
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private ItemChunkProcessor itemChunkProcessor;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+
+        when(itemBulkWriter.writeAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void testProcessChunk_perItem() {
+        Item first = Item.builder().id(1L).name("FirstItem").status("NEW").build();
+        Item second = Item.builder().id(2L).name("SecondItem").status("NEW").build();
+
+        when(itemRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(2))).thenReturn(List.of(first, second));
+
+        List<ItemChunkResult> recordedChunks = new ArrayList<>();
+        ItemChunkResult result = itemChunkProcessor.processChunk(0L, 2, recordedChunks::add);
+
+        assertThat(result.lastId()).isEqualTo(2L);
+        assertThat(result.processedItemIds()).containsExactly(1L, 2L);
+        assertThat(first.getStatus()).isEqualTo("PROCESSED");
+        assertThat(recordedChunks).containsExactly(result);
+
+        // The chunk went through the staged pipeline, its persist stage wrote the items (not the transaction of the chunk)
+        verify(itemProcessingPipeline).process(List.of(first, second));
+        verify(itemRepository, never()).saveAll(anyList());
+        verify(itemRepository, never()).updateStatusByIdRange(anyLong(), anyLong(), anyString());
+        verifyNoInteractions(applicationEventPublisher);
+        assertThat(meterRegistry.get("item.pipeline.stage").tags("stage", "transform", "outcome", "processed").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("item.pipeline.stage").tags("stage", "persist", "outcome", "processed").timer().count()).isPositive();
+    }
+
+    @Test
+    void testProcessChunk_perItemFailedStage() {
+        Item first = Item.builder().id(1L).name("FirstItem").status("NEW").build();
+        Item failing = Item.builder().id(2L).name("Fail").status("NEW").build();
+
+        when(itemRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(2))).thenReturn(List.of(first, failing));
+
+        ItemChunkResult result = itemChunkProcessor.processChunk(0L, 2);
+
+        assertThat(result.processedItemIds()).containsExactly(1L);
+        assertThat(result.failedItemIds()).containsExactly(2L);
+
+        // The transform stage had already changed it, but only the items that went through every stage are written
+        verify(itemBulkWriter).writeAll(List.of(first));
+        assertThat(meterRegistry.get("item.pipeline.stage").tags("stage", "failing", "outcome", "failed").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("item.processing").tag("outcome", "failed").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testProcessChunk_setBased() {
+        itemProcessingProperties.setMode(ItemProcessingProperties.ProcessingMode.SET_BASED);
+
+        when(itemRepository.findIdsByIdGreaterThan(10L, Limit.of(3))).thenReturn(List.of(11L, 12L, 14L));
+        when(itemRepository.updateStatusByIdRange(10L, 14L, "PROCESSED")).thenReturn(2);
+
+        List<ItemChunkResult> recordedChunks = new ArrayList<>();
+        ItemChunkResult result = itemChunkProcessor.processChunk(10L, 3, recordedChunks::add);
+
+        assertThat(result.lastId()).isEqualTo(14L);
+        assertThat(result.readItems()).isEqualTo(3);
+        assertThat(result.processedItemIds()).containsExactly(11L, 12L, 14L);
+        assertThat(result.failedItemIds()).isEmpty();
+        assertThat(recordedChunks).containsExactly(result);
+        assertThat(meterRegistry.get("item.processing").tag("outcome", "processed").timer().count()).isEqualTo(3);
+
+        // Not a single item is loaded (nor handed to the pipeline)
+        verify(itemRepository, never()).findByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class));
+        verifyNoInteractions(itemProcessingPipeline);
+        verify(applicationEventPublisher).publishEvent(new ItemsChangedEvent(List.of(11L, 12L, 14L)));
+    }
+
+    @Test
+    void testProcessChunk_setBasedEndOfTable() {
+        itemProcessingProperties.setMode(ItemProcessingProperties.ProcessingMode.SET_BASED);
+
+        when(itemRepository.findIdsByIdGreaterThan(14L, Limit.of(3))).thenReturn(List.of());
+
+        ItemChunkResult result = itemChunkProcessor.processChunk(14L, 3, chunk -> fail("An empty chunk shouldn't be recorded"));
+
+        assertThat(result.isEmpty()).isTrue();
+        verify(itemRepository, never()).updateStatusByIdRange(anyLong(), anyLong(), anyString());
+        verifyNoInteractions(applicationEventPublisher);
+    }
+
+    // Fails the items named "Fail", after the transform stage has run on them
+    private static class FailingStage implements ItemProcessingStage {
+        @Override
+        public String getName() {
+            return "failing";
+        }
+
+        @Override
+        public void process(Item item) {
+            if (item.getName().equals("Fail")) {
+                throw new IllegalStateException("Failed on purpose");
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.siemens.internship.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.response.ItemResponse;
+import com.siemens.internship.service.implementation.ItemExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ItemExportServiceTests {
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private ItemExportService itemExportService;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testExportAll() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+
+        when(itemRepository.streamAllResponses()).thenReturn(Stream.of(
+                new ItemResponse(1L, "FirstItem", "Description", "NEW", "test@example.com", 0L),
+                new ItemResponse(2L, "SecondItem", "Description", "PROCESSED", "test@example.com", 0L)
+        ).onClose(() -> closed.set(true)));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        long exportedItems = itemExportService.exportAll(outputStream);
+
+        assertThat(exportedItems).isEqualTo(2);
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "{\"id\":1,\"name\":\"FirstItem\",\"description\":\"Description\",\"status\":\"NEW\",\"email\":\"test@example.com\",\"version\":0}\n" +
+                "{\"id\":2,\"name\":\"SecondItem\",\"description\":\"Description\",\"status\":\"PROCESSED\",\"email\":\"test@example.com\",\"version\":0}\n"
+        );
+        // The stream holds the result set open, it has to be closed once the export is done
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void testExportAll_empty() throws Exception {
+        when(itemRepository.streamAllResponses()).thenReturn(Stream.empty());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        assertThat(itemExportService.exportAll(outputStream)).isZero();
+        assertThat(outputStream.size()).isZero();
+    }
+}
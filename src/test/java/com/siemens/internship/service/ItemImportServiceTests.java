@@ -0,0 +1,150 @@
+package com.siemens.internship.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.siemens.internship.configuration.ItemBulkProperties;
+import com.siemens.internship.configuration.ItemImportProperties;
+import com.siemens.internship.exception.BadRequestException;
+import com.siemens.internship.model.ItemBulkOutcome;
+import com.siemens.internship.model.ItemImportFormat;
+import com.siemens.internship.request.ItemRequest;
+import com.siemens.internship.response.ItemBulkResponse;
+import com.siemens.internship.response.ItemBulkResult;
+import com.siemens.internship.response.ItemImportRejection;
+import com.siemens.internship.response.ItemImportReport;
+import com.siemens.internship.service.implementation.ItemBulkService;
+import com.siemens.internship.service.implementation.ItemImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ItemImportServiceTests {
+    @Mock
+    private ItemBulkService itemBulkService;
+
+    @Spy
+    private ItemBulkProperties itemBulkProperties = new ItemBulkProperties();
+
+    @Spy
+    private ItemImportProperties itemImportProperties = new ItemImportProperties();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private ItemImportService itemImportService;
+
+    @Captor
+    private ArgumentCaptor<List<ItemRequest>> itemRequestsCaptor;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+
+        // Creates every item, except the ones named "Taken" and the ones without an email
+        when(itemBulkService.saveAll(anyList())).thenAnswer(invocation -> {
+            List<ItemRequest> itemRequests = invocation.getArgument(0);
+            List<ItemBulkResult> results = new ArrayList<>();
+
+            for (int i = 0; i < itemRequests.size(); i++) {
+                ItemRequest itemRequest = itemRequests.get(i);
+
+                if ("Taken".equals(itemRequest.name())) {
+                    results.add(new ItemBulkResult(i, null, ItemBulkOutcome.CONFLICT, "An item with this name (Taken) already exists"));
+                }
+
+                else if (itemRequest.email() == null) {
+                    results.add(new ItemBulkResult(i, null, ItemBulkOutcome.INVALID, "email: The email is required"));
+                }
+
+                else {
+                    results.add(new ItemBulkResult(i, (long) i + 1, ItemBulkOutcome.CREATED, null));
+                }
+            }
+
+            return new ItemBulkResponse(results.size(), 0, 0, results);
+        });
+    }
+
+    @Test
+    void testImportAll_ndjson() throws Exception {
+        ItemImportReport report = itemImportService.importAll(upload("""
+                {"name":"FirstItem","description":"Description","status":"NEW","email":"test@example.com"}
+                {"name":"Taken","description":"Description","status":"NEW","email":"test@example.com"}
+
+                {"name":"ThirdItem",
+                {"name":"FourthItem","description":"Description","status":"NEW"}
+                """), ItemImportFormat.NDJSON);
+
+        assertThat(report.totalRows()).isEqualTo(4);
+        assertThat(report.acceptedRows()).isEqualTo(1);
+        assertThat(report.rejectedRows()).isEqualTo(3);
+        assertThat(report.rejections()).extracting(ItemImportRejection::line).containsExactly(4L, 2L, 5L);
+        assertThat(report.rejections().get(0).reason()).startsWith("Malformed JSON record");
+        assertThat(report.rejectionsTruncated()).isFalse();
+    }
+
+    @Test
+    void testImportAll_csv() throws Exception {
+        ItemImportReport report = itemImportService.importAll(upload("""
+                \uFEFFEmail,Name,Status,Description
+                test@example.com,FirstItem,NEW,"A description, with a comma and ""quotes\"""
+                test@example.com,"Unterminated,NEW,Description
+                ,SecondItem,NEW,Description
+                """), ItemImportFormat.CSV);
+
+        verify(itemBulkService).saveAll(itemRequestsCaptor.capture());
+
+        assertThat(itemRequestsCaptor.getValue().get(0)).isEqualTo(
+                new ItemRequest("FirstItem", "A description, with a comma and \"quotes\"", "NEW", "test@example.com"));
+        assertThat(report.acceptedRows()).isEqualTo(2);
+        assertThat(report.rejections()).containsExactly(new ItemImportRejection(3L, "Malformed CSV record: unterminated quoted field"));
+    }
+
+    @Test
+    void testImportAll_csvMissingColumns() {
+        assertThatThrownBy(() -> itemImportService.importAll(upload("name,description\n"), ItemImportFormat.CSV))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void testImportAll_lineTooLong() {
+        itemImportProperties.setMaximumLineLength(100);
+
+        assertThatThrownBy(() -> itemImportService.importAll(upload(
+                "name,description,status,email\r\n" + "FirstItem,Description,NEW,test@example.com\r\n" + "x".repeat(101) + "\r\n"), ItemImportFormat.CSV))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Line 3 of the upload is longer than 100 characters");
+        verify(itemBulkService, never()).saveAll(anyList());
+    }
+
+    @Test
+    void testImportAll_batchedAndRejectionsCapped() throws Exception {
+        itemBulkProperties.setChunkSize(2);
+        itemImportProperties.setMaximumRejections(1);
+
+        ItemImportReport report = itemImportService.importAll(upload("""
+                {"name":"Taken","description":"Description","status":"NEW","email":"test@example.com"}
+                {"name":"Taken","description":"Description","status":"NEW","email":"test@example.com"}
+                {"name":"ThirdItem","description":"Description","status":"NEW","email":"test@example.com"}
+                """), ItemImportFormat.NDJSON);
+
+        verify(itemBulkService, times(2)).saveAll(anyList());
+        assertThat(report.rejectedRows()).isEqualTo(2);
+        assertThat(report.rejections()).containsExactly(new ItemImportRejection(1L, "An item with this name (Taken) already exists"));
+        assertThat(report.rejectionsTruncated()).isTrue();
+    }
+
+    private InputStream upload(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,105 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.event.ItemsChangedEvent;
+import com.siemens.internship.exception.BadRequestException;
+import com.siemens.internship.exception.ResourceNotFoundException;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.response.ItemResponse;
+import com.siemens.internship.search.ItemSearchIndex;
+import com.siemens.internship.service.implementation.ItemSearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ItemSearchServiceTests {
+    @Mock
+    private ItemRepository itemRepository;
+
+    private ItemSearchIndex itemSearchIndex;
+
+    private ItemSearchService itemSearchService;
+
+    private final ItemResponse keyboard = new ItemResponse(1L, "Mechanical Keyboard", "A keyboard with brown switches", "NEW", "test@example.com", 0L);
+    private final ItemResponse mouse = new ItemResponse(2L, "Wireless Mouse", "Pairs with the wireless keyboard", "NEW", "test@example.com", 0L);
+    private final ItemResponse monitor = new ItemResponse(3L, "Monitor", "27 inch, 144 Hz", "PROCESSED", "test@example.com", 0L);
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+
+        itemSearchIndex = new ItemSearchIndex(itemRepository);
+
+        when(itemRepository.streamAllResponses()).thenReturn(Stream.of(keyboard, mouse, monitor));
+        itemSearchIndex.rebuild();
+
+        itemSearchService = new ItemSearchService(itemSearchIndex);
+    }
+
+    @Test
+    void testTokenize() {
+        assertThat(ItemSearchIndex.tokenize("  Wireless-Mouse, 27\"  inch ")).containsExactly("wireless", "mouse", "27", "inch");
+        assertThat(ItemSearchIndex.tokenize("...")).isEmpty();
+    }
+
+    @Test
+    void testSearch_rankedByWhereTheTermMatches() {
+        Page<ItemResponse> result = itemSearchService.search("keyboard", PageRequest.of(0, 10));
+
+        // A match in the name counts for more than one in the description
+        assertThat(result.getContent()).containsExactly(keyboard, mouse);
+        assertThat(result.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void testSearch_prefix() {
+        assertThat(itemSearchService.search("mo", PageRequest.of(0, 10)).getContent()).containsExactly(mouse, monitor);
+    }
+
+    @Test
+    void testSearch_allTermsHaveToMatch() {
+        assertThat(itemSearchService.search("Wireless keyb", PageRequest.of(0, 10)).getContent()).containsExactly(mouse);
+    }
+
+    @Test
+    void testSearch_paginated() {
+        Page<ItemResponse> result = itemSearchService.search("keyboard", PageRequest.of(1, 1));
+
+        assertThat(result.getContent()).containsExactly(mouse);
+        assertThat(result.getTotalPages()).isEqualTo(2);
+    }
+
+    @Test
+    void testSearch_noTerms() {
+        assertThatThrownBy(() -> itemSearchService.search(" -- ", PageRequest.of(0, 10)))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void testSearch_noMatch() {
+        assertThatThrownBy(() -> itemSearchService.search("chair", PageRequest.of(0, 10)))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void testSearch_followsChanges() {
+        ItemResponse renamedKeyboard = new ItemResponse(1L, "Ergonomic Board", "Split layout", "NEW", "test@example.com", 1L);
+
+        // The keyboard has been renamed and the monitor deleted
+        when(itemRepository.findResponsesByIdIn(List.of(1L, 3L))).thenReturn(List.of(renamedKeyboard));
+        itemSearchIndex.onItemsChanged(new ItemsChangedEvent(List.of(1L, 3L)));
+
+        assertThat(itemSearchService.search("keyboard", PageRequest.of(0, 10)).getContent()).containsExactly(mouse);
+        assertThat(itemSearchService.search("ergonomic", PageRequest.of(0, 10)).getContent()).containsExactly(renamedKeyboard);
+        assertThatThrownBy(() -> itemSearchService.search("monitor", PageRequest.of(0, 10)))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(itemSearchIndex.size()).isEqualTo(2);
+    }
+}
@@ -1,19 +1,42 @@
 package com.siemens.internship.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.siemens.internship.cache.ItemCache;
+import com.siemens.internship.configuration.ItemCacheProperties;
+import com.siemens.internship.configuration.ItemProcessingProperties;
+import com.siemens.internship.configuration.ItemWriteBehindProperties;
+import com.siemens.internship.event.ItemsChangedEvent;
+import com.siemens.internship.exception.PreconditionFailedException;
 import com.siemens.internship.exception.ResourceAlreadyExistsException;
 import com.siemens.internship.exception.ResourceNotFoundException;
 import com.siemens.internship.mapper.ItemMapper;
 import com.siemens.internship.model.Item;
+import com.siemens.internship.pipeline.ItemProcessingPipeline;
 import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.request.ItemCursor;
+import com.siemens.internship.request.ItemField;
 import com.siemens.internship.request.ItemRequest;
+import com.siemens.internship.response.ItemFieldsSliceResponse;
+import com.siemens.internship.response.ItemProcessingReport;
 import com.siemens.internship.response.ItemResponse;
+import com.siemens.internship.response.ItemSliceResponse;
+import com.siemens.internship.response.ItemStatusCountsResponse;
+import com.siemens.internship.response.SerializedItemResponse;
+import com.siemens.internship.service.implementation.ItemChunkProcessor;
+import com.siemens.internship.service.implementation.ItemChunkResult;
 import com.siemens.internship.service.implementation.ItemService;
+import com.siemens.internship.service.implementation.ItemWriteBehindBuffer;
+import com.siemens.internship.statistics.ItemStatusHistogram;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
@@ -29,6 +52,30 @@ public class ItemServiceTests {
     @Mock
     private ItemMapper itemMapper;
 
+    @Mock
+    private ItemChunkProcessor itemChunkProcessor;
+
+    @Spy
+    private ItemProcessingProperties itemProcessingProperties = new ItemProcessingProperties();
+
+    @Spy
+    private ItemCache itemCache = new ItemCache(new ItemCacheProperties(), new ObjectMapper());
+
+    @Mock
+    private ItemStatusHistogram itemStatusHistogram;
+
+    @Mock
+    private ItemWriteBehindBuffer itemWriteBehindBuffer;
+
+    @Spy
+    private ItemWriteBehindProperties itemWriteBehindProperties = new ItemWriteBehindProperties();
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private ItemProcessingPipeline itemProcessingPipeline;
+
     @InjectMocks
     private ItemService itemService;
 
@@ -49,32 +96,125 @@ public class ItemServiceTests {
                 .build();
 
         itemRequest = new ItemRequest("TestItem", "Description", "NEW", "test@example.com");
-        itemResponse = new ItemResponse(1L, "TestItem", "Description", "NEW", "test@example.com");
+        itemResponse = new ItemResponse(1L, "TestItem", "Description", "NEW", "test@example.com", 0L);
     }
 
     @Test
     void testFindById_found() {
-        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
-        when(itemMapper.toItemResponse(item)).thenReturn(itemResponse);
+        when(itemRepository.findResponseById(1L)).thenReturn(Optional.of(itemResponse));
+
+        ItemResponse response = itemService.findById(1L);
+
+        assertThat(response).isEqualTo(itemResponse);
+    }
 
+    @Test
+    void testFindById_cached() {
+        when(itemRepository.findResponseById(1L)).thenReturn(Optional.of(itemResponse));
+
+        itemService.findById(1L);
         ItemResponse response = itemService.findById(1L);
 
         assertThat(response).isEqualTo(itemResponse);
+        verify(itemRepository, times(1)).findResponseById(1L);
+        assertThat(itemService.getCacheStatistics().hitCount()).isEqualTo(1);
+        assertThat(itemService.getCacheStatistics().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testFindSerializedById_cached() {
+        when(itemRepository.findResponseById(1L)).thenReturn(Optional.of(itemResponse));
+
+        SerializedItemResponse first = itemService.findSerializedById(1L);
+        SerializedItemResponse second = itemService.findSerializedById(1L);
+
+        assertThat(first.item()).isEqualTo(itemResponse);
+        assertThat(first.json().rawValue().toString())
+                .isEqualTo("{\"id\":1,\"name\":\"TestItem\",\"description\":\"Description\",\"status\":\"NEW\",\"email\":\"test@example.com\",\"version\":0}");
+
+        // The JSON is written once, when the item is loaded
+        assertThat(second).isSameAs(first);
+        verify(itemRepository, times(1)).findResponseById(1L);
+    }
+
+    @Test
+    void testFindById_invalidatedAfterUpdate() {
+        when(itemRepository.findResponseById(1L)).thenReturn(Optional.of(itemResponse));
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(itemRepository.saveAndFlush(any(Item.class))).thenReturn(item);
+        when(itemMapper.toItemResponse(item)).thenReturn(itemResponse);
+        doAnswer(invocation -> {
+            itemCache.onItemsChanged(invocation.getArgument(0));
+            return null;
+        }).when(applicationEventPublisher).publishEvent(any(ItemsChangedEvent.class));
+
+        itemService.findById(1L);
+        itemService.updateById(1L, itemRequest, null);
+        itemService.findById(1L);
+
+        // Once for each read, the update loads the entity itself
+        verify(itemRepository, times(2)).findResponseById(1L);
+        verify(itemRepository, times(1)).findById(1L);
     }
 
     @Test
     void testFindById_notFound() {
-        when(itemRepository.findById(1L)).thenReturn(Optional.empty());
+        when(itemRepository.findResponseById(1L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> itemService.findById(1L))
                 .isInstanceOf(ResourceNotFoundException.class);
     }
 
+    @Test
+    void testFindById_fields() {
+        Set<ItemField> fields = ItemField.parse("name,status");
+
+        when(itemRepository.findFieldsById(1L, fields)).thenReturn(Optional.of(Map.of("id", 1L, "name", "TestItem", "status", "NEW")));
+
+        assertThat(itemService.findById(1L, fields)).containsOnlyKeys("id", "name", "status");
+
+        // Not cached, the next read of the whole item still has to load it
+        verify(itemRepository, never()).findResponseById(1L);
+        assertThat(itemService.getCacheStatistics().size()).isZero();
+    }
+
+    @Test
+    void testFindById_fieldsFromTheCache() {
+        when(itemRepository.findResponseById(1L)).thenReturn(Optional.of(itemResponse));
+
+        itemService.findById(1L);
+        Map<String, Object> result = itemService.findById(1L, ItemField.parse("email,name"));
+
+        // In the order of the fields, whatever the order they were asked for in
+        assertThat(result).containsExactly(Map.entry("id", 1L), Map.entry("name", "TestItem"), Map.entry("email", "test@example.com"));
+        verify(itemRepository, never()).findFieldsById(anyLong(), anySet());
+    }
+
+    @Test
+    void testFindById_fieldsNotFound() {
+        when(itemRepository.findFieldsById(eq(1L), anySet())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> itemService.findById(1L, ItemField.parse("name")))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void testFindAllByCursor_fields() {
+        Set<ItemField> fields = ItemField.parse("status");
+
+        when(itemRepository.findFieldsByIdGreaterThan(0L, fields, Limit.of(2)))
+                .thenReturn(List.of(Map.of("id", 1L, "status", "NEW"), Map.of("id", 2L, "status", "NEW")));
+
+        ItemFieldsSliceResponse result = itemService.findAll(ItemCursor.START, 1, fields);
+
+        assertThat(result.content()).containsExactly(Map.of("id", 1L, "status", "NEW"));
+        assertThat(result.hasNext()).isTrue();
+        assertThat(ItemCursor.decode(result.nextCursor())).isEqualTo(new ItemCursor(1L));
+    }
+
     @Test
     void testFindAll_found() {
-        Page<Item> items = new PageImpl<>(List.of(item));
-        when(itemRepository.findAll(any(Pageable.class))).thenReturn(items);
-        when(itemMapper.toItemResponse(item)).thenReturn(itemResponse);
+        when(itemRepository.findAllResponses(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(itemResponse)));
 
         Page<ItemResponse> result = itemService.findAll(Pageable.unpaged());
 
@@ -83,50 +223,164 @@ public class ItemServiceTests {
 
     @Test
     void testFindAll_notFound() {
-        when(itemRepository.findAll(any(Pageable.class))).thenReturn(Page.empty());
+        when(itemRepository.findAllResponses(any(Pageable.class))).thenReturn(Page.empty());
 
         assertThatThrownBy(() -> itemService.findAll(Pageable.unpaged()))
                 .isInstanceOf(ResourceNotFoundException.class);
     }
 
+    @Test
+    void testFindAllByCursor_hasNext() {
+        ItemResponse secondResponse = new ItemResponse(2L, "SecondItem", "Description", "NEW", "test@example.com", 0L);
+        when(itemRepository.findResponsesByIdGreaterThan(0L, Limit.of(2))).thenReturn(List.of(itemResponse, secondResponse));
+
+        ItemSliceResponse result = itemService.findAll(ItemCursor.START, 1);
+
+        assertThat(result.content()).containsExactly(itemResponse);
+        assertThat(result.hasNext()).isTrue();
+        assertThat(ItemCursor.decode(result.nextCursor())).isEqualTo(new ItemCursor(1L));
+    }
+
+    @Test
+    void testFindAllByCursor_lastPage() {
+        when(itemRepository.findResponsesByIdGreaterThan(0L, Limit.of(11))).thenReturn(List.of(itemResponse));
+
+        ItemSliceResponse result = itemService.findAll(ItemCursor.START, 10);
+
+        assertThat(result.content()).containsExactly(itemResponse);
+        assertThat(result.hasNext()).isFalse();
+        assertThat(result.nextCursor()).isNull();
+    }
+
+    @Test
+    void testFindAllByStatus_found() {
+        when(itemRepository.findResponsesByStatusAndIdGreaterThan("NEW", 0L, Limit.of(11))).thenReturn(List.of(itemResponse));
+
+        ItemSliceResponse result = itemService.findAllByStatus("NEW", ItemCursor.START, 10);
+
+        assertThat(result.content()).containsExactly(itemResponse);
+        assertThat(result.hasNext()).isFalse();
+    }
+
+    @Test
+    void testFindAllByStatus_notFound() {
+        when(itemRepository.findResponsesByStatusAndIdGreaterThan("PROCESSED", 0L, Limit.of(11))).thenReturn(List.of());
+
+        assertThatThrownBy(() -> itemService.findAllByStatus("PROCESSED", ItemCursor.START, 10))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void testGetStatusCounts() {
+        when(itemStatusHistogram.getCounts()).thenReturn(new TreeMap<>(Map.of("NEW", 3L, "PROCESSED", 2L)));
+
+        ItemStatusCountsResponse result = itemService.getStatusCounts();
+
+        assertThat(result.total()).isEqualTo(5);
+        assertThat(result.counts()).containsExactly(Map.entry("NEW", 3L), Map.entry("PROCESSED", 2L));
+        verifyNoInteractions(itemRepository);
+    }
+
     @Test
     void testSave_success() {
-        when(itemRepository.findByNameIgnoreCase("TestItem")).thenReturn(Optional.empty());
-        when(itemRepository.save(any(Item.class))).thenReturn(item);
+        when(itemRepository.saveAndFlush(any(Item.class))).thenReturn(item);
         when(itemMapper.toItemResponse(item)).thenReturn(itemResponse);
 
         ItemResponse response = itemService.save(itemRequest);
 
         assertThat(response).isEqualTo(itemResponse);
+        verify(itemRepository).saveAndFlush(any(Item.class));
     }
 
     @Test
     void testSave_alreadyExists() {
-        when(itemRepository.findByNameIgnoreCase("TestItem")).thenReturn(Optional.of(item));
+        when(itemRepository.saveAndFlush(any(Item.class)))
+                .thenThrow(new DataIntegrityViolationException("Unique index or primary key violation: \"PUBLIC.UK_ITEMS_NORMALIZED_NAME_INDEX_5 ON PUBLIC.ITEMS(NORMALIZED_NAME)\""));
 
         assertThatThrownBy(() -> itemService.save(itemRequest))
                 .isInstanceOf(ResourceAlreadyExistsException.class);
     }
 
+    @Test
+    void testSave_otherIntegrityViolation() {
+        when(itemRepository.saveAndFlush(any(Item.class)))
+                .thenThrow(new DataIntegrityViolationException("NULL not allowed for column \"NAME\""));
+
+        assertThatThrownBy(() -> itemService.save(itemRequest))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
     @Test
     void testUpdateById_success() {
         when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
-        when(itemRepository.save(any(Item.class))).thenReturn(item);
+        when(itemRepository.saveAndFlush(any(Item.class))).thenReturn(item);
         when(itemMapper.toItemResponse(item)).thenReturn(itemResponse);
 
-        ItemResponse response = itemService.updateById(1L, itemRequest);
+        ItemResponse response = itemService.updateById(1L, itemRequest, null);
 
         assertThat(response).isEqualTo(itemResponse);
     }
 
+    @Test
+    void testUpdateById_nameTaken() {
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(itemRepository.saveAndFlush(any(Item.class)))
+                .thenThrow(new DataIntegrityViolationException("Unique index or primary key violation: \"PUBLIC.UK_ITEMS_NORMALIZED_NAME_INDEX_5 ON PUBLIC.ITEMS(NORMALIZED_NAME)\""));
+
+        assertThatThrownBy(() -> itemService.updateById(1L, itemRequest, null))
+                .isInstanceOf(ResourceAlreadyExistsException.class);
+    }
+
+    @Test
+    void testUpdateById_staleVersion() {
+        item.setVersion(2L);
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+
+        assertThatThrownBy(() -> itemService.updateById(1L, itemRequest, 1L))
+                .isInstanceOf(PreconditionFailedException.class);
+        verify(itemRepository, never()).saveAndFlush(any(Item.class));
+    }
+
+    @Test
+    void testUpdateById_modifiedConcurrently() {
+        item.setVersion(1L);
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(itemRepository.saveAndFlush(any(Item.class))).thenThrow(new ObjectOptimisticLockingFailureException(Item.class, 1L));
+
+        assertThatThrownBy(() -> itemService.updateById(1L, itemRequest, 1L))
+                .isInstanceOf(PreconditionFailedException.class);
+    }
+
     @Test
     void testUpdateById_notFound() {
         when(itemRepository.findById(1L)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> itemService.updateById(1L, itemRequest))
+        assertThatThrownBy(() -> itemService.updateById(1L, itemRequest, null))
                 .isInstanceOf(ResourceNotFoundException.class);
     }
 
+    @Test
+    void testBufferUpdateById_success() {
+        ItemRequest updateRequest = new ItemRequest("Renamed", "Description", "DONE", "test@example.com");
+        when(itemRepository.findResponseById(1L)).thenReturn(Optional.of(itemResponse));
+
+        ItemResponse result = itemService.bufferUpdateById(1L, updateRequest);
+
+        assertThat(result.name()).isEqualTo("Renamed");
+        assertThat(result.version()).isNull();
+        verify(itemWriteBehindBuffer).submit(1L, updateRequest);
+        verify(itemRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void testBufferUpdateById_notFound() {
+        when(itemRepository.findResponseById(1L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> itemService.bufferUpdateById(1L, itemRequest))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(itemWriteBehindBuffer);
+    }
+
     @Test
     void testDeleteById_success() {
         when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
@@ -149,21 +403,56 @@ public class ItemServiceTests {
     void testProcessItemsAsync_success() throws ExecutionException, InterruptedException {
         Item processedItem = Item.builder().id(1L).name("TestItem").description("Desc").status("PROCESSED").email("test@example.com").build();
 
-        when(itemRepository.findAll()).thenReturn(List.of(item));
-        when(itemRepository.save(any(Item.class))).thenReturn(processedItem);
+        Item failedItem = Item.builder().id(2L).name("FailedItem").description("Desc").status("NEW").email("test@example.com").build();
+
+        itemProcessingProperties.setChunkSize(2);
+
+        when(itemRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(2))).thenReturn(List.of(item, failedItem));
+        when(itemRepository.findByIdGreaterThanOrderByIdAsc(2L, Limit.of(2))).thenReturn(List.of());
+        when(itemProcessingPipeline.process(List.of(item, failedItem))).thenReturn(List.of(processedItem));
         when(itemMapper.toItemResponse(processedItem)).thenReturn(itemResponse);
 
         CompletableFuture<List<ItemResponse>> future = itemService.processItemsAsync();
         List<ItemResponse> result = future.get();
 
+        // The pipeline writes the items (and publishes their changes) itself, the table is read a chunk at a time
         assertThat(result).containsExactly(itemResponse);
+        verify(itemRepository, never()).findAll();
+        verify(itemProcessingPipeline).process(anyList());
+        verify(itemRepository, never()).save(any(Item.class));
+        verifyNoInteractions(applicationEventPublisher);
     }
 
     @Test
     void testProcessItemsAsync_emptyList() {
-        when(itemRepository.findAll()).thenReturn(Collections.emptyList());
+        when(itemRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class))).thenReturn(Collections.emptyList());
 
         assertThatThrownBy(() -> itemService.processItemsAsync().join())
                 .isInstanceOf(ResourceNotFoundException.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testProcessItemsInChunksAsync_success() {
+        itemProcessingProperties.setChunkSize(2);
+
+        when(itemChunkProcessor.processChunk(0L, 2)).thenReturn(new ItemChunkResult(2L, 2, List.of(1L), List.of(2L)));
+        when(itemChunkProcessor.processChunk(2L, 2)).thenReturn(new ItemChunkResult(3L, 1, List.of(3L), List.of()));
+
+        ItemProcessingReport report = itemService.processItemsInChunksAsync().join();
+
+        assertThat(report.chunkSize()).isEqualTo(2);
+        assertThat(report.chunks()).isEqualTo(2);
+        assertThat(report.processedItems()).isEqualTo(2);
+        assertThat(report.failedItems()).isEqualTo(1);
+        verify(itemChunkProcessor, never()).processChunk(3L, 2);
+    }
+
+    @Test
+    void testProcessItemsInChunksAsync_emptyTable() {
+        when(itemChunkProcessor.processChunk(0L, itemProcessingProperties.getChunkSize()))
+                .thenReturn(new ItemChunkResult(0L, 0, List.of(), List.of()));
+
+        assertThatThrownBy(() -> itemService.processItemsInChunksAsync().join())
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+}
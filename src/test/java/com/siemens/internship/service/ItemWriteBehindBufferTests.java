@@ -0,0 +1,172 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.configuration.ItemWriteBehindProperties;
+import com.siemens.internship.event.ItemsChangedEvent;
+import com.siemens.internship.exception.ServiceUnavailableException;
+import com.siemens.internship.request.ItemRequest;
+import com.siemens.internship.service.implementation.ItemBulkWriter;
+import com.siemens.internship.service.implementation.ItemWriteBehindBuffer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ItemWriteBehindBufferTests {
+    @Mock
+    private ItemBulkWriter itemBulkWriter;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ItemWriteBehindBuffer itemWriteBehindBuffer;
+
+    private final ItemRequest first = new ItemRequest("First", "Description", "NEW", "test@example.com");
+    private final ItemRequest second = new ItemRequest("Second", "Description", "IN_PROGRESS", "test@example.com");
+    private final ItemRequest third = new ItemRequest("Third", "Description", "DONE", "test@example.com");
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+
+        // Not started, the tests flush by hand
+        itemWriteBehindBuffer = new ItemWriteBehindBuffer(itemBulkWriter, new ItemWriteBehindProperties(), applicationEventPublisher, meterRegistry);
+    }
+
+    @Test
+    void testFlush_coalescesTheUpdatesOfAnItem() {
+        when(itemBulkWriter.updateAll(anyMap())).thenReturn(List.of(1L, 2L));
+
+        itemWriteBehindBuffer.submit(1L, first);
+        itemWriteBehindBuffer.submit(1L, second);
+        itemWriteBehindBuffer.submit(2L, first);
+        itemWriteBehindBuffer.submit(1L, third);
+
+        assertThat(itemWriteBehindBuffer.getPendingItems()).isEqualTo(2);
+        assertThat(itemWriteBehindBuffer.flush()).isEqualTo(2);
+
+        // Only the last update of the first item is written
+        verify(itemBulkWriter).updateAll(Map.of(1L, third, 2L, first));
+        verify(applicationEventPublisher).publishEvent(new ItemsChangedEvent(List.of(1L, 2L), List.of("Third", "First")));
+        assertThat(itemWriteBehindBuffer.getPendingItems()).isZero();
+        assertThat(meterRegistry.get("item.write.behind.coalesced").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("item.write.behind.lag").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void testFlush_batchViolationFallsBackToSingleWrites() {
+        DataIntegrityViolationException nameConflict = new DataIntegrityViolationException("Conflict",
+                new SQLException("Unique index or primary key violation: \"PUBLIC.UK_ITEMS_NORMALIZED_NAME_INDEX_5\""));
+
+        when(itemBulkWriter.updateAll(Map.of(1L, first, 2L, second))).thenThrow(nameConflict);
+        when(itemBulkWriter.updateAll(Map.of(1L, first))).thenThrow(nameConflict);
+        when(itemBulkWriter.updateAll(Map.of(2L, second))).thenReturn(List.of(2L));
+
+        itemWriteBehindBuffer.submit(1L, first);
+        itemWriteBehindBuffer.submit(2L, second);
+
+        assertThat(itemWriteBehindBuffer.flush()).isEqualTo(1);
+        verify(applicationEventPublisher).publishEvent(new ItemsChangedEvent(List.of(2L), List.of("Second")));
+        assertThat(meterRegistry.get("item.write.behind.failed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testFlush_databaseUnavailableKeepsTheUpdates() {
+        when(itemBulkWriter.updateAll(anyMap())).thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        itemWriteBehindBuffer.submit(1L, first);
+
+        assertThat(itemWriteBehindBuffer.flush()).isZero();
+        assertThat(itemWriteBehindBuffer.getPendingItems()).isEqualTo(1);
+        verifyNoInteractions(applicationEventPublisher);
+    }
+
+    @Test
+    void testFlush_transactionThatCantBeStartedKeepsTheUpdates() {
+        when(itemBulkWriter.updateAll(anyMap())).thenThrow(new CannotCreateTransactionException("Could not open JPA EntityManager for transaction"));
+
+        itemWriteBehindBuffer.submit(1L, first);
+        itemWriteBehindBuffer.submit(2L, second);
+
+        assertThat(itemWriteBehindBuffer.flush()).isZero();
+        assertThat(itemWriteBehindBuffer.getPendingItems()).isEqualTo(2);
+        assertThat(meterRegistry.get("item.write.behind.failed").counter().count()).isZero();
+        verifyNoInteractions(applicationEventPublisher);
+    }
+
+    @Test
+    void testFlush_databaseLostDuringTheSingleWritesKeepsTheRest() {
+        DataIntegrityViolationException nameConflict = new DataIntegrityViolationException("Conflict",
+                new SQLException("Unique index or primary key violation: \"PUBLIC.UK_ITEMS_NORMALIZED_NAME_INDEX_5\""));
+
+        when(itemBulkWriter.updateAll(Map.of(1L, first, 2L, second, 3L, third))).thenThrow(nameConflict);
+        when(itemBulkWriter.updateAll(Map.of(1L, first))).thenReturn(List.of(1L));
+        when(itemBulkWriter.updateAll(Map.of(2L, second))).thenThrow(new CannotCreateTransactionException("Connection refused"));
+
+        itemWriteBehindBuffer.submit(1L, first);
+        itemWriteBehindBuffer.submit(2L, second);
+        itemWriteBehindBuffer.submit(3L, third);
+
+        // The first item is written, the other two wait for the next flush
+        assertThat(itemWriteBehindBuffer.flush()).isEqualTo(1);
+        assertThat(itemWriteBehindBuffer.getPendingItems()).isEqualTo(2);
+        verify(itemBulkWriter, never()).updateAll(Map.of(3L, third));
+        verify(applicationEventPublisher).publishEvent(new ItemsChangedEvent(List.of(1L), List.of("First")));
+    }
+
+    @Test
+    void testFlush_deletedItemsCountAsFailed() {
+        when(itemBulkWriter.updateAll(Map.of(1L, first, 2L, second))).thenReturn(List.of(2L));
+
+        itemWriteBehindBuffer.submit(1L, first);
+        itemWriteBehindBuffer.submit(2L, second);
+
+        // The first item was deleted after its update had been acknowledged
+        assertThat(itemWriteBehindBuffer.flush()).isEqualTo(1);
+        assertThat(itemWriteBehindBuffer.getPendingItems()).isZero();
+        assertThat(meterRegistry.get("item.write.behind.failed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testFlush_singleItem() {
+        when(itemBulkWriter.updateAll(Map.of(1L, second))).thenReturn(List.of(1L));
+
+        itemWriteBehindBuffer.submit(1L, first);
+        itemWriteBehindBuffer.submit(1L, second);
+        itemWriteBehindBuffer.submit(2L, third);
+
+        itemWriteBehindBuffer.flush(1L);
+        itemWriteBehindBuffer.flush(3L);
+
+        // Only the latest update of that item is written, the other items wait for the next flush
+        verify(itemBulkWriter).updateAll(Map.of(1L, second));
+        verifyNoMoreInteractions(itemBulkWriter);
+        verify(applicationEventPublisher).publishEvent(new ItemsChangedEvent(List.of(1L), List.of("Second")));
+        assertThat(itemWriteBehindBuffer.getPendingItems()).isEqualTo(1);
+    }
+
+    @Test
+    void testDrain() throws InterruptedException {
+        when(itemBulkWriter.updateAll(anyMap())).thenReturn(List.of(1L));
+
+        itemWriteBehindBuffer.submit(1L, first);
+        itemWriteBehindBuffer.drain();
+
+        verify(itemBulkWriter).updateAll(Map.of(1L, first));
+        assertThatThrownBy(() -> itemWriteBehindBuffer.submit(1L, second))
+                .isInstanceOf(ServiceUnavailableException.class);
+    }
+}
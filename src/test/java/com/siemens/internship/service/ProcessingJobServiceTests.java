@@ -0,0 +1,189 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.configuration.ItemProcessingProperties;
+import com.siemens.internship.exception.ResourceNotFoundException;
+import com.siemens.internship.mapper.ProcessingJobMapper;
+import com.siemens.internship.model.ProcessingJob;
+import com.siemens.internship.model.ProcessingJobStatus;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.repository.ProcessingJobRepository;
+import com.siemens.internship.repository.ProcessingJobResultRepository;
+import com.siemens.internship.response.ProcessingJobResponse;
+import com.siemens.internship.service.implementation.ProcessingJobRunner;
+import com.siemens.internship.service.implementation.ProcessingJobService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ProcessingJobServiceTests {
+    @Mock
+    private ProcessingJobRepository processingJobRepository;
+
+    @Mock
+    private ProcessingJobResultRepository processingJobResultRepository;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Spy
+    private ProcessingJobMapper processingJobMapper = new ProcessingJobMapper();
+
+    @Mock
+    private ProcessingJobRunner processingJobRunner;
+
+    @Spy
+    private ItemProcessingProperties itemProcessingProperties = new ItemProcessingProperties();
+
+    @InjectMocks
+    private ProcessingJobService processingJobService;
+
+    private ProcessingJob processingJob;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+
+        processingJob = ProcessingJob.builder()
+                .id(1L)
+                .status(ProcessingJobStatus.RUNNING)
+                .chunkSize(500)
+                .totalItems(10L)
+                .processedItems(4L)
+                .failedItems(1L)
+                .lastItemId(5L)
+                .createdAt(LocalDateTime.now().minusSeconds(1))
+                .build();
+    }
+
+    @Test
+    void testStart_success() {
+        when(itemRepository.count()).thenReturn(10L);
+        when(processingJobRepository.save(any(ProcessingJob.class))).thenAnswer(invocation -> {
+            ProcessingJob savedJob = invocation.getArgument(0);
+            savedJob.setId(1L);
+            return savedJob;
+        });
+
+        ProcessingJobResponse response = processingJobService.start();
+
+        assertThat(response.id()).isEqualTo(1L);
+        assertThat(response.status()).isEqualTo(ProcessingJobStatus.RUNNING);
+        assertThat(response.remainingItems()).isEqualTo(10L);
+        verify(processingJobRunner).run(1L, itemProcessingProperties.getChunkSize(), 0L);
+    }
+
+    @Test
+    void testStart_deletesTheExpiredJobs() {
+        when(itemRepository.count()).thenReturn(10L);
+        when(processingJobRepository.save(any(ProcessingJob.class))).thenReturn(processingJob);
+
+        processingJobService.start();
+
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        InOrder inOrder = inOrder(processingJobResultRepository, processingJobRepository);
+        inOrder.verify(processingJobResultRepository).deleteByJobFinishedBefore(cutoff.capture());
+        inOrder.verify(processingJobRepository).deleteByFinishedAtBefore(cutoff.getValue());
+        assertThat(cutoff.getValue()).isBefore(LocalDateTime.now().minus(itemProcessingProperties.getRetention()).plusMinutes(1));
+    }
+
+    @Test
+    void testStart_failedCleanupStillStartsTheJob() {
+        when(itemRepository.count()).thenReturn(10L);
+        when(processingJobResultRepository.deleteByJobFinishedBefore(any())).thenThrow(new QueryTimeoutException("Timed out"));
+        when(processingJobRepository.save(any(ProcessingJob.class))).thenReturn(processingJob);
+
+        processingJobService.start();
+
+        verify(processingJobRunner).run(1L, 500, 0L);
+    }
+
+    @Test
+    void testStart_noItems() {
+        when(itemRepository.count()).thenReturn(0L);
+
+        assertThatThrownBy(() -> processingJobService.start())
+                .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(processingJobRunner);
+    }
+
+    @Test
+    void testResumeRunningJobs() {
+        ProcessingJob rejectedJob = ProcessingJob.builder().id(2L).status(ProcessingJobStatus.RUNNING).chunkSize(500).lastItemId(0L).build();
+
+        when(processingJobRepository.findByStatus(ProcessingJobStatus.RUNNING)).thenReturn(List.of(processingJob, rejectedJob));
+        doThrow(new TaskRejectedException("The executor is full")).when(processingJobRunner).run(2L, 500, 0L);
+
+        processingJobService.resumeRunningJobs();
+
+        // The first job carries on after the last item it recorded, the one that can't be scheduled fails instead of running forever
+        verify(processingJobRunner).run(1L, 500, 5L);
+        verify(processingJobRepository).transition(eq(2L), eq(ProcessingJobStatus.RUNNING), eq(ProcessingJobStatus.FAILED), eq("The executor is full"), any());
+        verify(processingJobRepository, never()).transition(eq(1L), any(), any(), any(), any());
+    }
+
+    @Test
+    void testFindById_progress() {
+        when(processingJobRepository.findById(1L)).thenReturn(Optional.of(processingJob));
+
+        ProcessingJobResponse response = processingJobService.findById(1L);
+
+        assertThat(response.processedItems()).isEqualTo(4L);
+        assertThat(response.failedItems()).isEqualTo(1L);
+        assertThat(response.remainingItems()).isEqualTo(5L);
+        assertThat(response.itemsPerSecond()).isPositive();
+    }
+
+    @Test
+    void testFindById_notFound() {
+        when(processingJobRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> processingJobService.findById(1L))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void testCancelById_running() {
+        when(processingJobRepository.findById(1L)).thenReturn(Optional.of(processingJob));
+        when(processingJobRepository.transition(eq(1L), eq(ProcessingJobStatus.RUNNING), eq(ProcessingJobStatus.CANCELLED), isNull(), any()))
+                .thenAnswer(invocation -> {
+                    processingJob.setStatus(ProcessingJobStatus.CANCELLED);
+                    return 1;
+                });
+
+        ProcessingJobResponse response = processingJobService.cancelById(1L);
+
+        assertThat(response.status()).isEqualTo(ProcessingJobStatus.CANCELLED);
+    }
+
+    @Test
+    void testFindResultsById_orderedById() {
+        Pageable pageable = PageRequest.of(1, 20);
+        when(processingJobRepository.findById(1L)).thenReturn(Optional.of(processingJob));
+        when(processingJobResultRepository.findByJobIdOrderByIdAsc(1L, pageable)).thenReturn(Page.empty(pageable));
+
+        assertThat(processingJobService.findResultsById(1L, pageable)).isEmpty();
+        verify(processingJobResultRepository).findByJobIdOrderByIdAsc(1L, pageable);
+    }
+
+    @Test
+    void testFindResultsById_notFound() {
+        when(processingJobRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> processingJobService.findResultsById(1L, null))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(processingJobResultRepository);
+    }
+}
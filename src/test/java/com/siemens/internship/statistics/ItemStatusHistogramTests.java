@@ -0,0 +1,71 @@
+package com.siemens.internship.statistics;
+
+import com.siemens.internship.event.ItemsChangedEvent;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.repository.ItemStatusView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ItemStatusHistogramTests {
+    @Mock
+    private ItemRepository itemRepository;
+
+    @InjectMocks
+    private ItemStatusHistogram itemStatusHistogram;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+
+        when(itemRepository.streamAllStatuses()).thenReturn(Stream.of(
+                new ItemStatusView(1L, "NEW"),
+                new ItemStatusView(2L, "NEW"),
+                new ItemStatusView(3L, "PROCESSED"),
+                new ItemStatusView(4L, null)
+        ));
+
+        itemStatusHistogram.rebuild();
+    }
+
+    @Test
+    void testRebuild() {
+        assertThat(itemStatusHistogram.getCounts()).containsExactly(entry("NEW", 2L), entry("PROCESSED", 1L));
+    }
+
+    @Test
+    void testOnItemsChanged_created() {
+        when(itemRepository.findStatusesByIdIn(List.of(5L))).thenReturn(List.of(new ItemStatusView(5L, "NEW")));
+
+        itemStatusHistogram.onItemsChanged(new ItemsChangedEvent(List.of(5L)));
+
+        assertThat(itemStatusHistogram.getCounts()).containsExactly(entry("NEW", 3L), entry("PROCESSED", 1L));
+    }
+
+    @Test
+    void testOnItemsChanged_statusChanged() {
+        // The first item got processed, the second one only had its name changed
+        when(itemRepository.findStatusesByIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(new ItemStatusView(1L, "PROCESSED"), new ItemStatusView(2L, "NEW")));
+
+        itemStatusHistogram.onItemsChanged(new ItemsChangedEvent(List.of(1L, 2L)));
+
+        assertThat(itemStatusHistogram.getCounts()).containsExactly(entry("NEW", 1L), entry("PROCESSED", 2L));
+    }
+
+    @Test
+    void testOnItemsChanged_deleted() {
+        when(itemRepository.findStatusesByIdIn(List.of(3L, 4L))).thenReturn(List.of());
+
+        itemStatusHistogram.onItemsChanged(new ItemsChangedEvent(List.of(3L, 4L)));
+
+        // A status without items is left out
+        assertThat(itemStatusHistogram.getCounts()).containsExactly(entry("NEW", 2L));
+    }
+}
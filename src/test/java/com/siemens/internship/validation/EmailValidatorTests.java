@@ -0,0 +1,132 @@
+package com.siemens.internship.validation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Differential tests: the validator has to accept and reject exactly what the regular expression it replaces does
+public class EmailValidatorTests {
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(
+            "^(?=.{1,64}@)[A-Za-z0-9_-]+(\\.[A-Za-z0-9_-]+)*@[^-][A-Za-z0-9-]+(\\.[A-Za-z0-9-]+)*(\\.[A-Za-z]{2,})$"
+    );
+
+    // Every character class of the pattern, its separators, line terminators and a surrogate pair
+    private static final String[] ALPHABET = {
+            "a", "Z", "q", "0", "9", "_", "-", ".", ".", "@", "@", " ", "\u0085", "\n", "\r", "\u2028", "\u00E9", "\uD83D\uDE00", "\uD83D", "+"
+    };
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "email@domain.com", "first.last@sub.domain.org", "a_b-c@dd.co", "user@@domain.com", "user@.domain.com",
+            "user@\uD83D\uDE00domain.com", "user@\ndomain.com", "a@b.com", "a@bb.c", "a@bb.c1", "a@bb.c-m", "a@bb..com",
+            "a@bb.com.", ".a@bb.com", "a.@bb.com", "a..b@bb.com", "@bb.com", "a@", "a@-bb.com", "a@b-b.com", "", "a",
+            "a@bb.com\n", "a@bb.com ", "\u00E9@bb.com", "a@b\u00E9.com", "a@bb", "a@bb.cOm", "a@b1.c2.d3.ef"
+    })
+    void testKnownInputs(String email) {
+        assertThat(EmailValidator.isValid(email)).as(email).isEqualTo(EMAIL_PATTERN.matcher(email).matches());
+    }
+
+    @Test
+    void testLocalPartLengthLimit() {
+        for (int length = 60; length <= 68; length++) {
+            String email = "a".repeat(length) + "@domain.com";
+
+            assertThat(EmailValidator.isValid(email)).as(email).isEqualTo(EMAIL_PATTERN.matcher(email).matches());
+        }
+
+        assertThat(EmailValidator.isValid("a".repeat(64) + "@domain.com")).isTrue();
+        assertThat(EmailValidator.isValid("a".repeat(65) + "@domain.com")).isFalse();
+    }
+
+    @Test
+    void testRandomInputs() {
+        Random random = new Random(20250517);
+
+        for (int i = 0; i < 200_000; i++) {
+            String email = randomString(random, random.nextInt(24));
+
+            assertThat(EmailValidator.isValid(email)).as(email).isEqualTo(EMAIL_PATTERN.matcher(email).matches());
+        }
+    }
+
+    // Mostly valid emails with a single character replaced, inserted or removed, close to the edges of the grammar
+    @Test
+    void testMutatedInputs() {
+        Random random = new Random(20250518);
+        int accepted = 0;
+
+        for (int i = 0; i < 200_000; i++) {
+            StringBuilder email = new StringBuilder(randomLabels(random, "abc_-", 1 + random.nextInt(3)))
+                    .append('@')
+                    .append(randomLabels(random, "bc1-", 1 + random.nextInt(3)))
+                    .append('.')
+                    .append(randomLabels(random, "xyz", 1));
+
+            int position = random.nextInt(email.length() + 1);
+            String character = ALPHABET[random.nextInt(ALPHABET.length)];
+
+            switch (random.nextInt(4)) {
+                case 0 -> email.insert(position, character);
+                case 1 -> {
+                    if (position < email.length()) {
+                        email.deleteCharAt(position);
+                    }
+                }
+                case 2 -> {
+                    if (position < email.length()) {
+                        email.replace(position, position + 1, character);
+                    }
+                }
+                default -> {
+                }
+            }
+
+            String value = email.toString();
+            boolean expected = EMAIL_PATTERN.matcher(value).matches();
+
+            assertThat(EmailValidator.isValid(value)).as(value).isEqualTo(expected);
+            accepted += expected ? 1 : 0;
+        }
+
+        // Make sure both outcomes were exercised a lot
+        assertThat(accepted).isBetween(20_000, 180_000);
+    }
+
+    @Test
+    void testNullIsValid() {
+        assertThat(new EmailValidator().isValid(null, null)).isTrue();
+    }
+
+    private String randomString(Random random, int length) {
+        StringBuilder value = new StringBuilder();
+
+        for (int i = 0; i < length; i++) {
+            value.append(ALPHABET[random.nextInt(ALPHABET.length)]);
+        }
+
+        return value.toString();
+    }
+
+    private String randomLabels(Random random, String characters, int labels) {
+        StringBuilder value = new StringBuilder();
+
+        for (int label = 0; label < labels; label++) {
+            if (label > 0) {
+                value.append('.');
+            }
+
+            int length = 1 + random.nextInt(4);
+
+            for (int i = 0; i < length; i++) {
+                value.append(characters.charAt(random.nextInt(characters.length())));
+            }
+        }
+
+        return value.toString();
+    }
+}